@@ -0,0 +1,37 @@
+package de.javaabc.aipopulation.bench;
+
+import de.javaabc.aipopulation.world.World;
+
+/**
+ * Creates reproducible {@link World}s for benchmarks.
+ *
+ * @author Timo Friedl
+ */
+final class BenchmarkWorlds {
+    /**
+     * the area per individual of the default 1920 x 1080 world with 62 individuals, measured in px^2
+     */
+    private static final double AREA_PER_INDIVIDUAL = 1920.0 * 1080.0 / 62.0;
+
+    private BenchmarkWorlds() {
+    }
+
+    /**
+     * Creates a world with a given number of individuals and as many food objects.
+     * The size of the world grows with the population, so the density (and thus the number of contacts) stays the same.
+     *
+     * @param population the number of individuals
+     * @param seed       the seed of the pseudorandom number generator for object initialization
+     * @return a new world instance
+     */
+    static World create(int population, long seed) {
+        int width = (int) Math.round(Math.sqrt(population * AREA_PER_INDIVIDUAL * 16.0 / 9.0));
+        int height = width * 9 / 16;
+
+        // initIndividuals() adds (min + max) / 2 individuals
+        var world = new World(width, height, population / 2, population + (population + 1) / 2, seed);
+        world.initIndividuals();
+        world.initFood();
+        return world;
+    }
+}
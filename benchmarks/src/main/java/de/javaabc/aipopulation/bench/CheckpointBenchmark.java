@@ -0,0 +1,67 @@
+package de.javaabc.aipopulation.bench;
+
+import de.javaabc.aipopulation.world.World;
+import de.javaabc.aipopulation.world.WorldCheckpoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks capturing, saving and loading a {@link World}.
+ * Checkpoints are written to a temporary file, so the save in the home directory is not touched.
+ *
+ * @author Timo Friedl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class CheckpointBenchmark {
+    /**
+     * the number of individuals in the world
+     */
+    @Param({"100", "1000"})
+    public int population;
+
+    /**
+     * the world to save
+     */
+    private World world;
+
+    /**
+     * the temporary checkpoint file
+     */
+    private Path path;
+
+    @Setup
+    public void setup() throws IOException {
+        world = BenchmarkWorlds.create(population, 42L);
+        path = Files.createTempFile("aipopulation-benchmark", ".bin");
+        WorldCheckpoint.write(world, path);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public WorldCheckpoint capture() {
+        return WorldCheckpoint.capture(world);
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        WorldCheckpoint.write(world, path);
+    }
+
+    @Benchmark
+    public World load() throws IOException {
+        return WorldCheckpoint.read(path);
+    }
+}
@@ -0,0 +1,54 @@
+package de.javaabc.aipopulation.bench;
+
+import de.javaabc.aipopulation.objects.Individual;
+import de.javaabc.aipopulation.world.SnapshotContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks sequential and parallel iteration over the individuals of a {@link SnapshotContainer}.
+ *
+ * @author Timo Friedl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class ContainerBenchmark {
+    /**
+     * the number of individuals in the container
+     */
+    @Param({"100", "1000", "10000"})
+    public int population;
+
+    /**
+     * the container to iterate over
+     */
+    private SnapshotContainer<Individual> individuals;
+
+    @Setup
+    public void setup() {
+        individuals = BenchmarkWorlds.create(population, 42L).getIndividuals();
+    }
+
+    @Benchmark
+    public double sequentialStream() {
+        return individuals.stream(false).mapToDouble(Individual::getEnergy).sum();
+    }
+
+    @Benchmark
+    public double parallelStream() {
+        return individuals.stream(true).mapToDouble(Individual::getEnergy).sum();
+    }
+
+    @Benchmark
+    public double snapshotLoop() {
+        double sum = 0.0;
+        for (Individual ind : individuals.snapshot())
+            sum += ind.getEnergy();
+        return sum;
+    }
+}
@@ -0,0 +1,95 @@
+package de.javaabc.aipopulation.bench;
+
+import de.javaabc.aipopulation.geom.Capsule;
+import de.javaabc.aipopulation.objects.Food;
+import de.javaabc.aipopulation.objects.Individual;
+import de.javaabc.aipopulation.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the bounds of individuals and the search for the closest object,
+ * both brute force and with the spatial grid.
+ *
+ * @author Timo Friedl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class GeometryBenchmark {
+    /**
+     * the number of individuals in the world
+     */
+    @Param({"100", "1000"})
+    public int population;
+
+    /**
+     * the world containing all objects
+     */
+    private World world;
+
+    /**
+     * the individuals of the world, in population order
+     */
+    private List<Individual> individuals;
+
+    /**
+     * the index of the next individual to use, so successive invocations do not hit the same cache lines
+     */
+    private int next;
+
+    @Setup
+    public void setup() {
+        world = BenchmarkWorlds.create(population, 42L);
+        individuals = world.getIndividuals().snapshot();
+        world.getIndividualGrid().rebuild(world.getIndividuals(), world.getWidth(), world.getHeight());
+        world.getFoodGrid().rebuild(world.getFoodObjects(), world.getWidth(), world.getHeight());
+    }
+
+    /**
+     * @return the next individual, cycling through the population
+     */
+    private Individual nextIndividual() {
+        Individual ind = individuals.get(next);
+        next = (next + 1) % individuals.size();
+        return ind;
+    }
+
+    @Benchmark
+    public Capsule makeBounds() {
+        return nextIndividual().makeBounds();
+    }
+
+    @Benchmark
+    public boolean makeBoundsAndIntersect() {
+        Capsule a = nextIndividual().makeBounds();
+        Capsule b = nextIndividual().makeBounds();
+        return a.intersects(b);
+    }
+
+    @Benchmark
+    public Optional<Food> findClosestFoodBruteForce() {
+        return nextIndividual().findClosest(world.getFoodObjects());
+    }
+
+    @Benchmark
+    public Optional<Food> findClosestFoodGrid() {
+        return world.getFoodGrid().findClosest(nextIndividual());
+    }
+
+    @Benchmark
+    public Optional<Individual> findClosestIndividualBruteForce() {
+        return nextIndividual().findClosest(world.getIndividuals());
+    }
+
+    @Benchmark
+    public Optional<Individual> findClosestIndividualGrid() {
+        return world.getIndividualGrid().findClosest(nextIndividual());
+    }
+}
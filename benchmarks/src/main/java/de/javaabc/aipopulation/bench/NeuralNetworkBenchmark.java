@@ -0,0 +1,96 @@
+package de.javaabc.aipopulation.bench;
+
+import de.javaabc.aipopulation.dnn.Layer;
+import de.javaabc.aipopulation.dnn.NeuralNetwork;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the inference and mutation of the brain of an individual.
+ *
+ * @author Timo Friedl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class NeuralNetworkBenchmark {
+    /**
+     * the layer sizes of the brain of an individual, ordered input - hidden - output
+     */
+    private static final int[] LAYER_SIZES = {12 + 5, 12, 12, 4 + 5};
+
+    /**
+     * the brain to evaluate
+     */
+    private NeuralNetwork network;
+
+    /**
+     * the first (and largest) layer of the brain
+     */
+    private Layer layer;
+
+    /**
+     * the input vector of the brain
+     */
+    private double[] input;
+
+    /**
+     * the output buffer of the layer
+     */
+    private double[] layerOutput;
+
+    /**
+     * the output buffer of the brain
+     */
+    private double[] output;
+
+    /**
+     * the output buffers of the hidden layers of the brain
+     */
+    private double[][] hiddenOutputs;
+
+    /**
+     * the stream of pseudorandom numbers for mutation
+     */
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        // Same shape as NeuralNetwork(10.0, LAYER_SIZES), but with seeded weights
+        random = new SplittableRandom(42L);
+        var layers = new Layer[LAYER_SIZES.length - 1];
+        for (int i = 0; i < layers.length; i++)
+            layers[i] = new Layer(LAYER_SIZES[i], LAYER_SIZES[i + 1], i == layers.length - 1, random, 10.0);
+        network = new NeuralNetwork(layers);
+        layer = layers[0];
+
+        input = new double[LAYER_SIZES[0]];
+        for (int i = 0; i < input.length; i++)
+            input[i] = random.nextDouble() * 2.0 - 1.0;
+        layerOutput = new double[layer.getOutputSize()];
+        output = new double[network.getOutputSize()];
+        hiddenOutputs = network.createHiddenOutputs();
+    }
+
+    @Benchmark
+    public double[] layerForward() {
+        layer.forward(input, layerOutput);
+        return layerOutput;
+    }
+
+    @Benchmark
+    public double[] feedForward() {
+        network.feedForward(input, output, hiddenOutputs);
+        return output;
+    }
+
+    @Benchmark
+    public NeuralNetwork mutate() {
+        return network.mutate(1E-2, random);
+    }
+}
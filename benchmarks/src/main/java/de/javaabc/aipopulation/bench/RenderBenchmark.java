@@ -0,0 +1,86 @@
+package de.javaabc.aipopulation.bench;
+
+import de.javaabc.aipopulation.render.FrameRenderer;
+import de.javaabc.aipopulation.render.FrameSnapshot;
+import de.javaabc.aipopulation.render.TextCache;
+import de.javaabc.aipopulation.render.Viewport;
+import de.javaabc.aipopulation.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import static java.awt.RenderingHints.*;
+
+/**
+ * Benchmarks rendering one {@link FrameSnapshot} into an off-screen image at different population sizes.
+ *
+ * @author Timo Friedl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+    /**
+     * the number of individuals in the world
+     */
+    @Param({"100", "1000", "10000"})
+    public int population;
+
+    /**
+     * the frame to render
+     */
+    private FrameSnapshot frame;
+
+    /**
+     * the viewport that shows the whole world
+     */
+    private Viewport viewport;
+
+    /**
+     * the renderer, whose sprite and label caches are warmed up by the warmup iterations
+     */
+    private FrameRenderer renderer;
+
+    /**
+     * the off-screen image to render on
+     */
+    private BufferedImage image;
+
+    /**
+     * the graphics of {@link #image}
+     */
+    private Graphics2D g;
+
+    @Setup
+    public void setup() {
+        World world = BenchmarkWorlds.create(population, 42L);
+        world.tick();
+        world.publishFrame();
+        frame = world.getFrame();
+
+        renderer = new FrameRenderer(new TextCache());
+        viewport = Viewport.fit(world.getWidth(), world.getHeight(), world.getWidth(), world.getHeight());
+        image = new BufferedImage(world.getWidth(), world.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        g = image.createGraphics();
+        g.setRenderingHint(KEY_ANTIALIASING, VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(KEY_RENDERING, VALUE_RENDER_QUALITY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        renderer.render(g, frame, viewport, true);
+        return image;
+    }
+}
@@ -0,0 +1,42 @@
+package de.javaabc.aipopulation.bench;
+
+import de.javaabc.aipopulation.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a full {@link World#tick()} at different population sizes.
+ * The world is recreated for each iteration, so the population does not drift too far from its initial size.
+ *
+ * @author Timo Friedl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class WorldTickBenchmark {
+    /**
+     * the number of individuals in the world
+     */
+    @Param({"100", "1000", "10000"})
+    public int population;
+
+    /**
+     * the world to tick
+     */
+    private World world;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        world = BenchmarkWorlds.create(population, 42L);
+    }
+
+    @Benchmark
+    public World tick() {
+        world.tick();
+        return world;
+    }
+}
@@ -1,23 +1,38 @@
 package de.javaabc.aipopulation;
 
+import de.javaabc.aipopulation.render.Camera;
+import de.javaabc.aipopulation.render.FramePacer;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-
-import static java.awt.RenderingHints.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 
 /**
- * A {@link JPanel} to render the simulation on.
+ * A {@link JPanel} to render the simulation on, which also handles the keyboard and the mouse.
+ * Dragging the mouse pans the camera, and the mouse wheel zooms it.
  *
  * @author Timo Friedl
  */
 public class Display extends JPanel implements KeyListener {
+    /**
+     * the fraction of the screen size the camera is panned by each arrow key press
+     */
+    private static final double PAN_STEP = 0.125;
+
     /**
      * the reference to the main {@link Simulation} instance
      */
     private final Simulation simulation;
 
+    /**
+     * the last position of the mouse while it is dragged, or null if it is not dragged
+     */
+    private Point dragPosition;
+
     /**
      * Creates a new display.
      *
@@ -27,19 +42,56 @@ public class Display extends JPanel implements KeyListener {
         super(new BorderLayout());
         this.simulation = simulation;
         simulation.addKeyListener(this);
+
+        var mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragPosition = e.getPoint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragPosition = null;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                Camera camera = simulation.getCamera();
+                if (camera != null && dragPosition != null)
+                    camera.pan(e.getX() - dragPosition.x, e.getY() - dragPosition.y);
+                dragPosition = e.getPoint();
+                repaint(); // Only necessary if rendering passively
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                Camera camera = simulation.getCamera();
+                if (camera != null)
+                    camera.zoom(-e.getWheelRotation(), e.getX(), e.getY()); // Rotating the wheel away from the user zooms in
+                repaint(); // Only necessary if rendering passively
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
     }
 
     @Override
     public void paint(Graphics g) {
+        // Frames are rendered by the render loop instead, if rendering actively
+        if (simulation.isActiveRendering())
+            return;
+
         Graphics2D g2 = (Graphics2D) g;
+        FramePacer pacer = simulation.getPacer();
 
-        // Improve render quality
-        g2.setRenderingHint(KEY_ANTIALIASING, VALUE_ANTIALIAS_ON);
-        g2.setRenderingHint(KEY_RENDERING, VALUE_RENDER_QUALITY);
-        g2.setRenderingHint(KEY_INTERPOLATION, VALUE_INTERPOLATION_BICUBIC);
+        // Render quality depends on the time previous frames took
+        pacer.getQuality().apply(g2);
 
         // Render everything
+        long start = System.nanoTime();
         simulation.render(g2);
+        pacer.frameRendered(System.nanoTime() - start);
     }
 
     @Override
@@ -52,11 +104,30 @@ public class Display extends JPanel implements KeyListener {
         switch (e.getKeyChar()) {
             case ' ' -> simulation.setPause(!simulation.isPause()); // Pause or resume simulation
             case 'b' -> simulation.toggleBest(); // Toggle show the fittest individual
-            case 'f' -> simulation.toggleFastForward(); // Switch between fast-forward and normal
+            case 'f' -> simulation.toggleFastForward(); // Cycle through 1x, 2x, 10x and max speed
             case 'g' -> simulation.toggleGeneration(); // Toggle show generation of each individual
             case 'm' -> simulation.toggleMaxGeneration(); // Toggle show individual with the highest generation
             case 'o' -> simulation.toggleOldest(); // Toggle show the oldest individual
+            case 'p' -> simulation.toggleProfiler(); // Toggle show the time spent in each tick phase
+            case 'i' -> simulation.toggleOverview(); // Toggle show all islands side by side
+            case '1', '2', '3', '4', '5', '6', '7', '8', '9' -> simulation.selectIsland(e.getKeyChar() - '1'); // Show a single island
+            case '0' -> simulation.resetCamera(); // Show the whole world
+        }
+
+        Camera camera = simulation.getCamera();
+        if (camera == null)
+            return;
+
+        double panX = PAN_STEP * getWidth(), panY = PAN_STEP * getHeight();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT -> camera.pan(panX, 0.0); // Move camera to the left
+            case KeyEvent.VK_RIGHT -> camera.pan(-panX, 0.0); // Move camera to the right
+            case KeyEvent.VK_UP -> camera.pan(0.0, panY); // Move camera up
+            case KeyEvent.VK_DOWN -> camera.pan(0.0, -panY); // Move camera down
+            case KeyEvent.VK_PLUS, KeyEvent.VK_ADD, KeyEvent.VK_EQUALS -> camera.zoom(1, getWidth() / 2.0, getHeight() / 2.0); // Zoom in
+            case KeyEvent.VK_MINUS, KeyEvent.VK_SUBTRACT -> camera.zoom(-1, getWidth() / 2.0, getHeight() / 2.0); // Zoom out
         }
+        repaint(); // Only necessary if rendering passively
     }
 
     @Override
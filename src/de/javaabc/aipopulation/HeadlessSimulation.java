@@ -0,0 +1,164 @@
+package de.javaabc.aipopulation;
+
+import de.javaabc.aipopulation.dnn.LayerKernel;
+import de.javaabc.aipopulation.util.TickProfiler;
+import de.javaabc.aipopulation.util.TimeUtil;
+import de.javaabc.aipopulation.world.Archipelago;
+import de.javaabc.aipopulation.world.MigrationTopology;
+import de.javaabc.aipopulation.world.World;
+import de.javaabc.aipopulation.world.migration.SocketMigrationTransport;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A simulation without any display that ticks a {@link World} (or the islands of an {@link Archipelago}) as fast as possible
+ * and prints throughput and population statistics.
+ * <p>
+ * Usage: {@code HeadlessSimulation [--width=1920] [--height=1080] [--ticks=216000] [--seed=0] [--min=25] [--max=100]
+ * [--islands=1] [--topology=ring] [--migration-interval=3600] [--migrants=2] [--listen=unix:path] [--peer=tcp:host:port]}
+ *
+ * @author Timo Friedl
+ */
+public class HeadlessSimulation {
+    /**
+     * the number of ticks between two progress reports (one minute of simulation time)
+     */
+    private static final long REPORT_INTERVAL = 60L * 60L;
+
+    /**
+     * the islands to simulate, or only one world
+     */
+    private final Archipelago archipelago;
+
+    /**
+     * the number of ticks to simulate
+     */
+    private final long tickBudget;
+
+    /**
+     * Creates a new headless simulation.
+     *
+     * @param archipelago the islands to simulate, or only one world
+     * @param tickBudget  the number of ticks to simulate
+     */
+    public HeadlessSimulation(Archipelago archipelago, long tickBudget) {
+        this.archipelago = archipelago;
+        this.tickBudget = tickBudget;
+    }
+
+    /**
+     * Initializes the islands and ticks them until the tick budget is exhausted.
+     */
+    public void run() {
+        System.out.println("Layer kernel: " + LayerKernel.DEFAULT);
+        if (archipelago.size() > 1)
+            System.out.printf("%d islands, %s topology, %d migrants every %d ticks%n", archipelago.size(),
+                    archipelago.getTopology(), archipelago.getMigrants(), archipelago.getMigrationInterval());
+        if (archipelago.getTransport() != null)
+            System.out.println(archipelago.getTransport());
+        archipelago.init();
+
+        long start = System.nanoTime();
+        long lastReport = start;
+
+        for (long tick = 1; tick <= tickBudget; tick++) {
+            archipelago.tick();
+
+            if (tick % REPORT_INTERVAL == 0) {
+                long now = System.nanoTime();
+                report(tick, REPORT_INTERVAL, now - lastReport);
+                lastReport = now;
+            }
+        }
+
+        System.out.println("Finished.");
+        report(tickBudget, tickBudget, System.nanoTime() - start);
+        TickProfiler.formatTable(archipelago.getIsland(0).getProfiler().snapshot(false)).forEach(System.out::println);
+
+        if (archipelago.getTransport() != null) {
+            System.out.println(archipelago.getTransport());
+            archipelago.getTransport().close();
+        }
+    }
+
+    /**
+     * Prints the throughput of the last ticks and the current state of the population.
+     *
+     * @param tick    the number of ticks simulated so far
+     * @param ticks   the number of ticks that were measured
+     * @param elapsed the time it took to simulate these ticks, measured in ns
+     */
+    private void report(long tick, long ticks, long elapsed) {
+        double ticksPerSecond = ticks / (elapsed / 1E9);
+        System.out.printf("tick %d (%s): %.0f ticks/s, %d individuals, %d food, max generation %d%n",
+                tick, TimeUtil.formatDuration(tick), ticksPerSecond,
+                archipelago.getPopulationSize(), archipelago.getFoodSize(), archipelago.getMaxGeneration());
+        if (archipelago.getTransport() != null)
+            System.out.println(archipelago.getTransport());
+    }
+
+    /**
+     * Parses command line arguments of the form {@code --key=value}.
+     *
+     * @param args the command line arguments
+     * @return the values by key
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.replaceFirst("^--", "").split("=", 2);
+            if (keyValue.length != 2)
+                throw new IllegalArgumentException("Expected --key=value, but got \"" + arg + "\"");
+            options.put(keyValue[0], keyValue[1]);
+        }
+        return options;
+    }
+
+    /**
+     * Creates the transport that exchanges migrants with other processes, if any of its addresses is given.
+     *
+     * @param options the command line options, possibly containing "listen" and "peer" addresses
+     * @return a new transport instance, or null if migrating within this process only
+     * @throws IOException if the listen address cannot be bound
+     */
+    static SocketMigrationTransport createTransport(Map<String, String> options) throws IOException {
+        String listen = options.get("listen"), peer = options.get("peer");
+        if (listen == null && peer == null)
+            return null;
+
+        return new SocketMigrationTransport(listen == null ? null : SocketMigrationTransport.parseAddress(listen),
+                peer == null ? null : SocketMigrationTransport.parseAddress(peer));
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        Map<String, String> options = parseOptions(args);
+
+        int width = Integer.parseInt(options.getOrDefault("width", "1920"));
+        int height = Integer.parseInt(options.getOrDefault("height", "1080"));
+        long ticks = Long.parseLong(options.getOrDefault("ticks", String.valueOf(60L * 60L * 60L)));
+        long seed = Long.parseLong(options.getOrDefault("seed", "0"));
+        int min = Integer.parseInt(options.getOrDefault("min", "25"));
+        int max = Integer.parseInt(options.getOrDefault("max", "100"));
+
+        int islandCount = Integer.parseInt(options.getOrDefault("islands", "1"));
+        var topology = MigrationTopology.valueOf(options.getOrDefault("topology", "ring").toUpperCase(Locale.ROOT));
+        long migrationInterval = Long.parseLong(options.getOrDefault("migration-interval", String.valueOf(60L * 60L)));
+        int migrants = Integer.parseInt(options.getOrDefault("migrants", "2"));
+
+        // All randomness derives from the given seed: each island and the migration topology get their own seed
+        var root = new SplittableRandom(seed);
+        var islands = new World[islandCount];
+        for (int i = 0; i < islandCount; i++)
+            islands[i] = new World(width, height, min, max, root.nextLong());
+
+        var archipelago = new Archipelago(islands, topology, migrationInterval, migrants, root.nextLong());
+        archipelago.setTransport(createTransport(options));
+        new HeadlessSimulation(archipelago, ticks).run();
+    }
+}
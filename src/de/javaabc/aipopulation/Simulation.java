@@ -5,23 +5,35 @@ import de.javaabc.aipopulation.geom.Vec;
 import de.javaabc.aipopulation.objects.Food;
 import de.javaabc.aipopulation.objects.Individual;
 import de.javaabc.aipopulation.objects.SimulationObject;
-import de.javaabc.aipopulation.util.RenderUtils;
+import de.javaabc.aipopulation.render.Camera;
+import de.javaabc.aipopulation.render.FramePacer;
+import de.javaabc.aipopulation.render.FrameRenderer;
+import de.javaabc.aipopulation.render.FrameSnapshot;
+import de.javaabc.aipopulation.render.RenderLoop;
+import de.javaabc.aipopulation.render.TextCache;
+import de.javaabc.aipopulation.render.Viewport;
 import de.javaabc.aipopulation.util.Renderable;
 import de.javaabc.aipopulation.util.Tickable;
+import de.javaabc.aipopulation.util.TickProfiler;
+import de.javaabc.aipopulation.util.TickProfiler.Phase;
+import de.javaabc.aipopulation.util.TickScheduler;
 import de.javaabc.aipopulation.util.TimeUtil;
+import de.javaabc.aipopulation.world.Archipelago;
+import de.javaabc.aipopulation.world.MigrationTopology;
 import de.javaabc.aipopulation.world.World;
+import de.javaabc.aipopulation.world.migration.MigrationTransport;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
+import java.util.function.IntFunction;
 
 
 /**
@@ -36,30 +48,75 @@ public class Simulation extends JFrame implements Tickable, Renderable {
      */
     private static final Dimension SCREEN_SIZE = Toolkit.getDefaultToolkit().getScreenSize();
 
+    /**
+     * the font of the profiler overlay
+     */
+    private static final Font PROFILER_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 14);
+
+    /**
+     * the speeds that fast-forward mode cycles through, as multipliers of real-time speed
+     */
+    private static final double[] SPEEDS = {1.0, 2.0, 10.0, TickScheduler.MAX_SPEED};
+
     /**
      * the display to render objects on
      */
     private final Display display;
 
     /**
-     * the world containing all {@link SimulationObject}s
+     * the world containing all {@link SimulationObject}s that is currently displayed
      */
     private World world;
 
     /**
-     * a flag indicating that this simulation is currently paused
+     * the islands that evolve concurrently, or only one if running a single world
+     */
+    private Archipelago archipelago;
+
+    /**
+     * the number of islands to simulate
+     */
+    private final int islandCount;
+
+    /**
+     * the size of each new world, measured in px, independent of the size of this window
      */
-    private boolean pause;
+    private final Dimension worldSize;
 
     /**
-     * a flag indicating that this simulation is currently in fast-forward mode
+     * the minimum and maximum number of individuals of each new world
      */
-    private boolean fastForward;
+    private final int minPopulationSize, maxPopulationSize;
 
     /**
-     * the service for fast-forward mode
+     * the topology that defines which islands receive the migrants of each island
      */
-    private ScheduledExecutorService fastForwardService;
+    private final MigrationTopology topology;
+
+    /**
+     * the number of ticks between two migrations
+     */
+    private final long migrationInterval;
+
+    /**
+     * the number of fittest individuals of each island that migrate
+     */
+    private final int migrants;
+
+    /**
+     * the transport that exchanges migrants with other processes, or null if migrating within this process only
+     */
+    private final MigrationTransport transport;
+
+    /**
+     * a flag indicating that all islands should be rendered side by side instead of only the displayed {@link #world}
+     */
+    private boolean showOverview;
+
+    /**
+     * the scheduler that ticks all islands and publishes their frames, at a multiple of real-time speed
+     */
+    private final TickScheduler scheduler;
 
     /**
      * a flag indicating that each individual should render its generation
@@ -86,6 +143,36 @@ public class Simulation extends JFrame implements Tickable, Renderable {
      */
     private boolean showMaxGenerationCircle = true;
 
+    /**
+     * a flag indicating that the tick profile should be rendered as an overlay
+     */
+    private boolean showProfiler;
+
+    /**
+     * the fonts and laid-out labels of all text
+     */
+    private final TextCache textCache = new TextCache();
+
+    /**
+     * the renderer of the objects of each frame
+     */
+    private final FrameRenderer frameRenderer = new FrameRenderer(textCache);
+
+    /**
+     * the camera that pans and zooms over the displayed {@link #world}
+     */
+    private Camera camera;
+
+    /**
+     * the pacer of the frame rate and the adaptive render quality
+     */
+    private final FramePacer pacer;
+
+    /**
+     * the loop that actively renders this window on its own thread, or null if rendering passively via {@link Display}
+     */
+    private RenderLoop renderLoop;
+
     /**
      * the text font
      */
@@ -93,9 +180,36 @@ public class Simulation extends JFrame implements Tickable, Renderable {
 
     /**
      * Creates a new simulation.
+     *
+     * @param islandCount       the number of islands to simulate, or 1 to simulate a single world
+     * @param worldSize         the size of each new world, measured in px
+     * @param minPopulationSize the minimum number of individuals of each new world
+     * @param maxPopulationSize the maximum number of individuals of each new world
+     * @param topology          the topology that defines which islands receive the migrants of each island
+     * @param migrationInterval the number of ticks between two migrations
+     * @param migrants          the number of fittest individuals of each island that migrate
+     * @param transport         the transport that exchanges migrants with other processes, or null
+     * @param targetFps         the number of frames per second to render
+     * @param activeRendering   true to render on a dedicated thread with a {@link RenderLoop},
+     *                          false to let Swing repaint the {@link Display} after each tick
+     * @param speed             the initial multiplier of real-time speed, or {@link TickScheduler#MAX_SPEED}
+     * @param sliceNanos        the maximum time spent ticking between two frames, measured in ns
      */
-    public Simulation() {
+    public Simulation(int islandCount, Dimension worldSize, int minPopulationSize, int maxPopulationSize,
+                      MigrationTopology topology, long migrationInterval, int migrants,
+                      MigrationTransport transport, int targetFps, boolean activeRendering, double speed, long sliceNanos) {
         super("Simulation"); // Create a new JFrame
+        this.islandCount = islandCount;
+        this.worldSize = worldSize;
+        this.minPopulationSize = minPopulationSize;
+        this.maxPopulationSize = maxPopulationSize;
+        this.topology = topology;
+        this.migrationInterval = migrationInterval;
+        this.migrants = migrants;
+        this.transport = transport;
+        pacer = new FramePacer(targetFps);
+        scheduler = new TickScheduler(this, this::publishFrames, sliceNanos);
+        scheduler.setSpeed(speed);
 
         setContentPane(display = new Display(this));
         setSize(SCREEN_SIZE);
@@ -105,7 +219,12 @@ public class Simulation extends JFrame implements Tickable, Renderable {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
-                world.save(); // Save before ALT+F4
+                scheduler.stop(); // Waits for the current slice, so no tick runs while saving
+                if (renderLoop != null)
+                    renderLoop.stop();
+                archipelago.save(); // Save before ALT+F4
+                if (transport != null)
+                    transport.close();
                 System.exit(0);
             }
         });
@@ -113,7 +232,9 @@ public class Simulation extends JFrame implements Tickable, Renderable {
         initFont();
         setVisible(true);
         init();
-        runLoop();
+        if (activeRendering)
+            startRenderLoop();
+        scheduler.start();
     }
 
     /**
@@ -129,36 +250,61 @@ public class Simulation extends JFrame implements Tickable, Renderable {
     }
 
     /**
-     * Loads the {@link World} or creates a new one,
+     * Loads the {@link World} (or each island) or creates a new one,
      * and initializes objects.
      */
     private void init() {
-        world = World.load(this)
-                .orElseGet(() -> new World(this, 25, 100));
-        world.initIndividuals();
-        world.initFood();
+        var islands = new World[islandCount];
+        if (islandCount == 1) {
+            islands[0] = World.load(getWidth(), getHeight()) // Older versions saved worlds of screen size
+                    .orElseGet(() -> new World(worldSize.width, worldSize.height, minPopulationSize, maxPopulationSize));
+        } else {
+            for (int i = 0; i < islandCount; i++) {
+                var path = World.getIslandPath(i);
+                islands[i] = World.load(path).orElseGet(() -> {
+                    var island = new World(worldSize.width, worldSize.height, minPopulationSize, maxPopulationSize);
+                    island.setSavePath(path);
+                    return island;
+                });
+            }
+        }
+
+        for (World island : islands)
+            island.setSimulation(this);
+
+        archipelago = new Archipelago(islands, topology, migrationInterval, migrants, System.nanoTime());
+        archipelago.setTransport(transport);
+        archipelago.init();
+        archipelago.publishFrames();
+        camera = new Camera(islands[0].getWidth(), islands[0].getHeight(), getWidth(), getHeight());
+        world = islands[0];
     }
 
     /**
-     * Starts the simulation's tick-render-loop.
-     * Each tick occurs approximately every 1/60 second.
+     * Starts rendering this window actively on a dedicated thread, paced to the target frame rate.
      */
-    private void runLoop() {
-        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(() -> {
-            try {
-                if (!pause && !fastForward) {
-                    tick();
-                    display.repaint();
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }, 3000L, 1000L * 1000L * 1000L / 60L, TimeUnit.NANOSECONDS);
+    private void startRenderLoop() {
+        renderLoop = new RenderLoop(this, this, pacer);
+        renderLoop.start();
+        System.out.printf("Render loop: %d FPS, accelerated back buffer: %b, page flipping: %b%n",
+                1000L * 1000L * 1000L / pacer.getFrameNanos(),
+                renderLoop.getCapabilities().getBackBufferCapabilities().isAccelerated(),
+                renderLoop.getCapabilities().isPageFlipping());
+    }
+
+    /**
+     * Publishes the frames of all islands after the ticks of a slice of the {@link #scheduler},
+     * and repaints the {@link Display} unless rendering actively.
+     */
+    private void publishFrames() {
+        archipelago.publishFrames();
+        if (renderLoop == null)
+            display.repaint();
     }
 
     @Override
     public void tick() {
-        world.tick();
+        archipelago.tick();
     }
 
     @Override
@@ -172,90 +318,167 @@ public class Simulation extends JFrame implements Tickable, Renderable {
         if (world == null)
             return;
 
-        world.render(g);
+        long start = System.nanoTime();
+        if (showOverview) {
+            renderOverview(g);
+        } else {
+            FrameSnapshot frame = world.getFrame();
+            Viewport viewport = camera.getViewport();
+            frameRenderer.render(g, frame, viewport, showGeneration);
+            renderInfo(g, frame, viewport);
+        }
+        world.getProfiler().record(Phase.RENDER, System.nanoTime() - start);
+
+        if (scheduler.getSpeed() != 1.0 || scheduler.isPaused())
+            renderSpeed(g);
+    }
+
+    /**
+     * Renders the target speed, the achieved ticks per second and the achieved frame rate in the bottom left corner.
+     *
+     * @param g the {@link Graphics2D} to draw on
+     */
+    private void renderSpeed(Graphics2D g) {
+        String text = scheduler.isPaused() ? "Paused"
+                : String.format("%s speed: %.0f ticks/s, %.0f FPS", TickScheduler.formatSpeed(scheduler.getSpeed()),
+                scheduler.getTickRate(), pacer.getFrameRate());
+        g.setColor(new Color(0, 0, 0, 0xa0));
+        g.setFont(textCache.font(font, Font.BOLD, 20f));
+        g.drawString(text, 20f, getHeight() - 20f);
+    }
 
-        renderInfo(g);
+    /**
+     * Renders all islands side by side, each one zoomed out to fit its tile.
+     *
+     * @param g the {@link Graphics2D} to draw on
+     */
+    private void renderOverview(Graphics2D g) {
+        int columns = (int) Math.ceil(Math.sqrt(archipelago.size()));
+        int rows = (archipelago.size() + columns - 1) / columns;
+        int tileWidth = getWidth() / columns, tileHeight = getHeight() / rows;
+
+        for (int i = 0; i < archipelago.size(); i++) {
+            World island = archipelago.getIsland(i);
+            int x = (i % columns) * tileWidth, y = (i / columns) * tileHeight;
+
+            // Render the island into its (clipped) tile
+            var tile = (Graphics2D) g.create(x, y, tileWidth, tileHeight);
+            FrameSnapshot frame = island.getFrame();
+            frameRenderer.render(tile, frame, Viewport.fit(island.getWidth(), island.getHeight(), tileWidth, tileHeight), showGeneration);
+            tile.dispose();
+
+            // Border and label
+            g.setStroke(new BasicStroke(2f));
+            g.setColor(island == world ? new Color(255, 0, 40) : Color.GRAY);
+            g.drawRect(x, y, tileWidth - 1, tileHeight - 1);
+            g.setColor(new Color(0, 0, 0, 0xa0));
+            g.setFont(textCache.font(font, Font.BOLD, 20f));
+            g.drawString(String.format("Island %d: %d individuals, generation %d",
+                    i + 1, frame.getIndividualCount(), frame.getMaxGeneration()), x + 10, y + 30);
+        }
     }
 
     /**
      * Renders additional information such as circles around best / oldest {@link Individual}
      * as well as the generation title.
      *
-     * @param g the {@link Graphics2D} to draw on
+     * @param g        the {@link Graphics2D} to draw on
+     * @param frame    the frame of the displayed {@link #world}
+     * @param viewport the visible part of the displayed {@link #world}
      */
-    private void renderInfo(Graphics2D g) {
+    private void renderInfo(Graphics2D g, FrameSnapshot frame, Viewport viewport) {
         if (showBest)
-            renderMaxIndividual(g, Comparator.comparingDouble(Individual::getEnergy),
-                    new Color(0xff, 0x60, 0x00), best -> String.format("Energy: %d", Math.round(best.getEnergy())));
+            renderMaxIndividual(g, frame, viewport, frame.getFittest(),
+                    new Color(0xff, 0x60, 0x00), best -> String.format("Energy: %d", Math.round(frame.getEnergy(best))));
 
         if (showOldest)
-            renderMaxIndividual(g, Comparator.comparingLong(Individual::getAge),
-                    Color.DARK_GRAY, oldest -> "Age: " + TimeUtil.formatDuration(oldest.getAge()));
-
-        if (showMaxGenerationCircle)
-            world.getIndividuals().stream(true)
-                    .max(Comparator.comparingLong(Individual::getGeneration))
-                    .ifPresent(ind -> {
-                        g.setStroke(new BasicStroke(4f));
-                        g.setColor(new Color(255, 0, 40));
-                        g.draw(new Circle(ind.getPos(), 50.0));
-                    });
+            renderMaxIndividual(g, frame, viewport, frame.getOldest(),
+                    Color.DARK_GRAY, oldest -> "Age: " + TimeUtil.formatDuration(frame.getAge(oldest)));
+
+        if (showMaxGenerationCircle && frame.getLatest() >= 0) {
+            g.setStroke(new BasicStroke(4f));
+            g.setColor(new Color(255, 0, 40));
+            g.draw(new Circle(new Vec(viewport.toScreenX(frame.getX(frame.getLatest())),
+                    viewport.toScreenY(frame.getY(frame.getLatest()))), 50.0));
+        }
 
         if (showMaxGeneration) {
-            String text = "Generation " + world.getIndividuals().stream(true)
-                    .mapToLong(Individual::getGeneration)
-                    .max().orElse(0L);
+            String text = "Generation " + frame.getMaxGeneration();
+            if (archipelago.size() > 1)
+                text = "Island " + (indexOf(world) + 1) + " - " + text;
 
-            Vec pos = new Vec(getWidth() / 2.0, getHeight() / 16.0);
             g.setColor(new Color(0, 0, 0, 0xa0));
-            g.setFont(g.getFont().deriveFont(Font.BOLD, 60f));
-            RenderUtils.drawCenteredString(g, text, pos);
+            textCache.drawCentered(g, text, textCache.font(font, Font.BOLD, 60f), getWidth() / 2.0, getHeight() / 16.0);
         }
+
+        if (showProfiler)
+            renderProfiler(g);
+    }
+
+    /**
+     * Renders the time spent in each phase of a tick, since the last periodic dump, as a table in the top left corner.
+     *
+     * @param g the {@link Graphics2D} to draw on
+     */
+    private void renderProfiler(Graphics2D g) {
+        List<String> lines = new ArrayList<>(TickProfiler.formatTable(world.getProfiler().snapshot(false)));
+        lines.add(frameRenderer.getSprites().toString());
+        lines.add(String.format("frames: %.1f ms average, %.1f ms budget, %s quality, %.1f FPS",
+                pacer.getAverageFrameNanos() / 1e6, pacer.getFrameNanos() / 1e6, pacer.getQuality(), pacer.getFrameRate()));
+        lines.add(String.format("ticks: %s speed, %.1f ms slice, %.1f ticks/s", TickScheduler.formatSpeed(scheduler.getSpeed()),
+                scheduler.getSliceNanos() / 1e6, scheduler.getTickRate()));
+
+        g.setFont(PROFILER_FONT);
+        FontMetrics metrics = textCache.metrics(g, PROFILER_FONT);
+        int lineHeight = metrics.getHeight();
+        int width = lines.stream().mapToInt(metrics::stringWidth).max().orElse(0);
+
+        // Translucent background
+        g.setColor(new Color(0xff, 0xff, 0xff, 0xc0));
+        g.fillRect(10, 10, width + 20, lines.size() * lineHeight + 20);
+
+        g.setColor(Color.BLACK);
+        for (int i = 0; i < lines.size(); i++)
+            g.drawString(lines.get(i), 20, 20 + metrics.getAscent() + i * lineHeight);
     }
 
     /**
      * Renders a circle around a somehow maximal individual.
      *
      * @param g              the {@link Graphics2D} to draw on
-     * @param criteria       a {@link Comparator} defining which of two individuals is higher in order
+     * @param frame          the frame of the displayed {@link #world}
+     * @param viewport       the visible part of the displayed {@link #world}
+     * @param max            the index of the individual to highlight, or -1 if there is none
      * @param color          the color of the circle (and the text next to it)
-     * @param labelExtractor a {@link Function} that maps the highlighted individual to the text to show next to it
-     */
-    private void renderMaxIndividual(Graphics2D g, Comparator<Individual> criteria, Color color, Function<Individual, String> labelExtractor) {
-        world.getIndividuals().stream(true)
-                .max(criteria)
-                .ifPresent(max -> {
-                    g.setColor(color);
-                    g.setStroke(new BasicStroke(4f));
-                    Vec pos = max.getPos();
-                    Vec textPos = pos.add(40.0, -40.0)
-                            .restrict(50.0, 50.0, getWidth() - 200.0, getHeight() - 50.0);
-                    g.draw(new Circle(pos, 50.0));
-                    g.setFont(g.getFont().deriveFont(20f));
-                    g.drawString(labelExtractor.apply(max), (float) textPos.x(), (float) textPos.y());
-                });
+     * @param labelExtractor a function that maps the index of the highlighted individual to the text to show next to it
+     */
+    private void renderMaxIndividual(Graphics2D g, FrameSnapshot frame, Viewport viewport, int max, Color color,
+                                     IntFunction<String> labelExtractor) {
+        if (max < 0)
+            return;
+
+        g.setColor(color);
+        g.setStroke(new BasicStroke(4f));
+        Vec pos = new Vec(viewport.toScreenX(frame.getX(max)), viewport.toScreenY(frame.getY(max)));
+        Vec textPos = pos.add(40.0, -40.0)
+                .restrict(50.0, 50.0, getWidth() - 200.0, getHeight() - 50.0);
+        g.draw(new Circle(pos, 50.0));
+        g.setFont(textCache.font(font, Font.PLAIN, 20f));
+        g.drawString(labelExtractor.apply(max), (float) textPos.x(), (float) textPos.y());
     }
 
     /**
-     * Switches from normal mode to fast-forward mode or vice versa.
+     * Switches to the next faster speed of {@link #SPEEDS}, or back to real-time speed from the fastest one.
      */
     public void toggleFastForward() {
-        fastForward = !fastForward;
-
-        if (fastForward) {
-            fastForwardService = Executors.newSingleThreadScheduledExecutor();
-            fastForwardService.scheduleWithFixedDelay(() -> {
-                try {
-                    for (int i = 0; i < 60; i++)
-                        tick();
-                    display.repaint(); // Render after 60 ticks instead of every tick
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }, 0L, 1L, TimeUnit.NANOSECONDS); // Do not execute every 1/60 second, but as fast as possible instead
-        } else {
-            fastForwardService.shutdown();
+        double speed = scheduler.getSpeed();
+        for (double next : SPEEDS) {
+            if (next > speed) {
+                scheduler.setSpeed(next);
+                return;
+            }
         }
+        scheduler.setSpeed(SPEEDS[0]);
     }
 
     public void toggleGeneration() {
@@ -270,13 +493,91 @@ public class Simulation extends JFrame implements Tickable, Renderable {
         showOldest = !showOldest;
     }
 
+    /**
+     * Displays a single island instead of the overview.
+     *
+     * @param index the index of the island to display, ignored if there is no such island
+     */
+    public void selectIsland(int index) {
+        if (index < 0 || index >= archipelago.size())
+            return;
+
+        World island = archipelago.getIsland(index);
+        if (island.getWidth() != world.getWidth() || island.getHeight() != world.getHeight())
+            resetCamera(island);
+        world = island;
+        showOverview = false;
+    }
+
+    /**
+     * Zooms out the camera so the whole displayed world is visible.
+     */
+    public void resetCamera() {
+        resetCamera(world);
+    }
+
+    /**
+     * Zooms out the camera so a whole world is visible.
+     *
+     * @param island the world to show
+     */
+    private void resetCamera(World island) {
+        camera.fit(island.getWidth(), island.getHeight(), getWidth(), getHeight());
+    }
+
+    /**
+     * @return the index of a given island in the {@link #archipelago}
+     */
+    private int indexOf(World island) {
+        for (int i = 0; i < archipelago.size(); i++) {
+            if (archipelago.getIsland(i) == island)
+                return i;
+        }
+        return -1;
+    }
+
+    public void toggleOverview() {
+        showOverview = !showOverview;
+    }
+
+    public void toggleProfiler() {
+        showProfiler = !showProfiler;
+    }
+
     public void toggleMaxGeneration() {
         showMaxGeneration = !showMaxGeneration;
         showMaxGenerationCircle = !showMaxGenerationCircle;
     }
 
-    public static void main(String[] args) {
-        new Simulation();
+    /**
+     * Starts the simulation.
+     * <p>
+     * Usage: {@code Simulation [--width=screen] [--height=screen] [--min=25] [--max=100] [--islands=1] [--topology=ring] [--migration-interval=3600] [--migrants=2]
+     * [--listen=unix:path] [--peer=tcp:host:port] [--fps=60] [--render=active] [--speed=1] [--slice=16.7]}
+     *
+     * @param args the options of the island model, of rendering ({@code active} or {@code passive})
+     *             and of the speed (a multiplier or {@code max}, and the maximum ms spent ticking between two frames),
+     *             see {@link HeadlessSimulation#parseOptions(String[])}
+     * @throws IOException if the listen address cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = HeadlessSimulation.parseOptions(args);
+        int width = Integer.parseInt(options.getOrDefault("width", String.valueOf(SCREEN_SIZE.width)));
+        int height = Integer.parseInt(options.getOrDefault("height", String.valueOf(SCREEN_SIZE.height)));
+        int min = Integer.parseInt(options.getOrDefault("min", "25"));
+        int max = Integer.parseInt(options.getOrDefault("max", "100"));
+        int islands = Integer.parseInt(options.getOrDefault("islands", "1"));
+        var topology = MigrationTopology.valueOf(options.getOrDefault("topology", "ring").toUpperCase(Locale.ROOT));
+        long migrationInterval = Long.parseLong(options.getOrDefault("migration-interval", String.valueOf(60L * 60L)));
+        int migrants = Integer.parseInt(options.getOrDefault("migrants", "2"));
+        int targetFps = Integer.parseInt(options.getOrDefault("fps", "60"));
+        boolean activeRendering = !options.getOrDefault("render", "active").equalsIgnoreCase("passive");
+        String speed = options.getOrDefault("speed", "1");
+        double slice = Double.parseDouble(options.getOrDefault("slice", String.valueOf(1000.0 / TickScheduler.REAL_TIME_TPS)));
+
+        new Simulation(islands, new Dimension(width, height), min, max, topology, migrationInterval, migrants,
+                HeadlessSimulation.createTransport(options), targetFps, activeRendering,
+                speed.equalsIgnoreCase("max") ? TickScheduler.MAX_SPEED : Double.parseDouble(speed), Math.round(slice * 1e6));
     }
 
     public World getWorld() {
@@ -284,11 +585,23 @@ public class Simulation extends JFrame implements Tickable, Renderable {
     }
 
     public void setPause(boolean pause) {
-        this.pause = pause;
+        scheduler.setPaused(pause);
+    }
+
+    public Camera getCamera() {
+        return camera;
+    }
+
+    public FramePacer getPacer() {
+        return pacer;
+    }
+
+    public boolean isActiveRendering() {
+        return renderLoop != null;
     }
 
     public boolean isPause() {
-        return pause;
+        return scheduler.isPaused();
     }
 
     public boolean showGeneration() {
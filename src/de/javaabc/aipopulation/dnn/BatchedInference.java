@@ -0,0 +1,165 @@
+package de.javaabc.aipopulation.dnn;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * An inference engine that evaluates many {@link NeuralNetwork}s of identical topology at once.
+ * <p>
+ * The weights of all networks are packed into one contiguous array per layer,
+ * and so are the inputs and outputs of each layer.
+ * Weights are only copied again if the network at a certain batch index has changed since the last evaluation,
+ * so a stable population costs no packing at all.
+ *
+ * @author Timo Friedl
+ */
+public class BatchedInference {
+    /**
+     * the minimum number of networks per parallel work unit
+     */
+    private static final int CHUNK_SIZE = 32;
+
+    /**
+     * the number of neurons in each layer, ordered input - hidden - output
+     */
+    private final int[] layerSizes;
+
+    /**
+     * for each weight layer, a flag indicating if the tanh() activation is used instead of ReLU
+     */
+    private final boolean[] useTanH;
+
+    /**
+     * The packed weights, indexed by layer.
+     * Each network occupies one row-major block of (output size) x (input size + 1) values, including bias.
+     */
+    private double[][] weights;
+
+    /**
+     * The packed activations, indexed by layer (starting with the input layer).
+     * Each network occupies one block of (layer size) values.
+     */
+    private double[][] activations;
+
+    /**
+     * the networks whose weights are currently packed, indexed by batch index
+     */
+    private NeuralNetwork[] packed;
+
+    /**
+     * the number of networks to evaluate
+     */
+    private int batchSize;
+
+    /**
+     * Creates a new batched inference engine for networks with the same topology as a given prototype.
+     *
+     * @param prototype a neural network with the topology of all networks to evaluate
+     */
+    public BatchedInference(NeuralNetwork prototype) {
+        int numberOfLayers = prototype.getNumberOfLayers();
+        layerSizes = new int[numberOfLayers + 1];
+        useTanH = new boolean[numberOfLayers];
+
+        layerSizes[0] = prototype.getLayer(0).getInputSize();
+        for (int l = 0; l < numberOfLayers; l++) {
+            layerSizes[l + 1] = prototype.getLayer(l).getOutputSize();
+            useTanH[l] = prototype.getLayer(l).usesTanH();
+        }
+
+        weights = new double[numberOfLayers][0];
+        activations = new double[numberOfLayers + 1][0];
+        packed = new NeuralNetwork[0];
+    }
+
+    /**
+     * Sets the number of networks to evaluate and grows the buffers if necessary.
+     *
+     * @param batchSize the number of networks to evaluate
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize > packed.length) {
+            int capacity = Math.max(batchSize, packed.length * 3 / 2);
+            packed = Arrays.copyOf(packed, capacity);
+
+            for (int l = 0; l < weights.length; l++)
+                weights[l] = Arrays.copyOf(weights[l], capacity * layerSizes[l + 1] * (layerSizes[l] + 1));
+
+            for (int l = 0; l < activations.length; l++)
+                activations[l] = Arrays.copyOf(activations[l], capacity * layerSizes[l]);
+        }
+
+        // Do not retain the networks of individuals that have died since the last batch
+        Arrays.fill(packed, batchSize, packed.length, null);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Assigns a network to a batch index and packs its weights if it is not already assigned to that index.
+     * Different batch indices may be assigned concurrently.
+     *
+     * @param index   the batch index in range [0, batch size)
+     * @param network the network to evaluate at the given index
+     */
+    public void setNetwork(int index, NeuralNetwork network) {
+        if (packed[index] == network)
+            return; // Weights are already in place
+
+        if (network.getNumberOfLayers() != weights.length)
+            throw new IllegalArgumentException("Network topology does not match batch topology");
+
+        for (int l = 0; l < weights.length; l++) {
+            Layer layer = network.getLayer(l);
+            if (layer.getInputSize() != layerSizes[l] || layer.getOutputSize() != layerSizes[l + 1] || layer.usesTanH() != useTanH[l])
+                throw new IllegalArgumentException("Network topology does not match batch topology");
+
+            layer.copyWeights(weights[l], index * layerSizes[l + 1] * (layerSizes[l] + 1));
+        }
+
+        packed[index] = network;
+    }
+
+    /**
+     * Evaluates all networks of the batch, reading from {@link #getInputs()} and writing to {@link #getOutputs()}.
+     * Large batches are split into chunks that are evaluated in parallel.
+     */
+    public void evaluate() {
+        int chunks = (batchSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                evaluate(chunk * CHUNK_SIZE, Math.min(batchSize, (chunk + 1) * CHUNK_SIZE)));
+    }
+
+    /**
+     * Evaluates a contiguous range of networks layer by layer.
+     *
+     * @param from the first batch index (inclusive)
+     * @param to   the last batch index (exclusive)
+     */
+    private void evaluate(int from, int to) {
+        for (int l = 0; l < weights.length; l++)
+            LayerKernel.DEFAULT.forwardBatch(weights[l], layerSizes[l + 1], layerSizes[l],
+                    activations[l], activations[l + 1], from, to, useTanH[l]);
+    }
+
+    /**
+     * @return the packed input vectors of all networks, each one occupying {@link #getInputSize()} values
+     */
+    public double[] getInputs() {
+        return activations[0];
+    }
+
+    /**
+     * @return the packed output vectors of all networks, each one occupying {@link #getOutputSize()} values
+     */
+    public double[] getOutputs() {
+        return activations[activations.length - 1];
+    }
+
+    public int getInputSize() {
+        return layerSizes[0];
+    }
+
+    public int getOutputSize() {
+        return layerSizes[layerSizes.length - 1];
+    }
+}
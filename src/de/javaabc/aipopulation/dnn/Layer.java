@@ -1,14 +1,11 @@
 package de.javaabc.aipopulation.dnn;
 
-import de.javaabc.aipopulation.util.MathUtil;
-
 import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
-
-import static de.javaabc.aipopulation.util.MathUtil.matMul;
+import java.util.stream.IntStream;
 
 /**
  * A layer of a {@link NeuralNetwork}.
@@ -17,20 +14,26 @@ import static de.javaabc.aipopulation.util.MathUtil.matMul;
  */
 public class Layer implements Serializable {
     /**
-     * The weight matrix of this layer, including bias.
-     * Each row of this matrix corresponds to the weights towards one specific neuron.
+     * The weight matrix of this layer, including bias, stored in row-major order.
+     * Each row of this matrix corresponds to the weights towards one specific neuron
+     * and consists of {@link #inputSize} weights followed by one bias value.
      */
-    private final double[][] weights;
+    private final double[] weights;
 
     /**
-     * a flag indicating if the tanh() activation is used instead of ReLU
+     * the number of inputs to this layer, excluding bias
      */
-    private final boolean useTanH;
+    private final int inputSize;
 
     /**
-     * a pseudorandom number generator used for mutation
+     * the number of outputs of this layer
+     */
+    private final int outputSize;
+
+    /**
+     * a flag indicating if the tanh() activation is used instead of ReLU
      */
-    private final Random random;
+    private final boolean useTanH;
 
     /**
      * the maximum absolute value of weights after mutation
@@ -38,17 +41,22 @@ public class Layer implements Serializable {
     private final double maxWeight;
 
     /**
-     * Creates a new layer of a {@link NeuralNetwork}.
+     * Creates a new layer of a {@link NeuralNetwork} with given weights, e.g. restored from a checkpoint.
      *
-     * @param weights   the weight matrix of this layer, including bias
-     * @param useTanH   a flag indicating if the tanh() activation is used instead of ReLU
-     * @param random    a pseudorandom number generator used for mutation
-     * @param maxWeight the maximum absolute value of weights after mutation
+     * @param weights    the row-major weight matrix of this layer, including bias
+     * @param inputSize  the number of inputs to this layer
+     * @param outputSize the number of outputs of this layer
+     * @param useTanH    a flag indicating if the tanh() activation is used instead of ReLU
+     * @param maxWeight  the maximum absolute value of weights after mutation
      */
-    private Layer(double[][] weights, boolean useTanH, Random random, double maxWeight) {
+    public Layer(double[] weights, int inputSize, int outputSize, boolean useTanH, double maxWeight) {
+        if (weights.length != outputSize * (inputSize + 1))
+            throw new IllegalArgumentException("Expected " + outputSize * (inputSize + 1) + " weights, but got " + weights.length);
+
         this.weights = weights;
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
         this.useTanH = useTanH;
-        this.random = random;
         this.maxWeight = maxWeight;
     }
 
@@ -58,15 +66,14 @@ public class Layer implements Serializable {
      * @param inputSize  the number of inputs to this layer
      * @param outputSize the number of outputs to this layer
      * @param useTanH    a flag indicating if the tanh() activation is used instead of ReLU
-     * @param random     a pseudorandom number generator used for mutation
+     * @param random     the pseudorandom number generator for initialization
      * @param maxWeight  the maximum absolute value of weights after mutation
      */
-    public Layer(int inputSize, int outputSize, boolean useTanH, Random random, double maxWeight) {
-        this(new double[outputSize][inputSize + 1], useTanH, random, maxWeight);
+    public Layer(int inputSize, int outputSize, boolean useTanH, RandomGenerator random, double maxWeight) {
+        this(new double[outputSize * (inputSize + 1)], inputSize, outputSize, useTanH, maxWeight);
 
-        for (int y = 0; y < weights.length; y++)
-            for (int x = 0; x < weights[0].length; x++)
-                weights[y][x] = random.nextGaussian(0.0, Math.sqrt(2.0 / (inputSize + outputSize)));
+        for (int i = 0; i < weights.length; i++)
+            weights[i] = random.nextGaussian(0.0, Math.sqrt(2.0 / (inputSize + outputSize)));
     }
 
     /**
@@ -76,17 +83,20 @@ public class Layer implements Serializable {
      * @return the computed output vector
      */
     public double[] forward(double[] input) {
-        double[] withBias = Arrays.copyOf(input, input.length + 1);
-        withBias[input.length] = 1.0;
-
-        // Multiply
-        double[] res = matMul(weights, withBias);
-
-        // Activation
-        for (int i = 0; i < res.length; i++)
-            res[i] = useTanH ? Math.tanh(res[i]) : MathUtil.relu(res[i]);
+        double[] output = new double[outputSize];
+        forward(input, output);
+        return output;
+    }
 
-        return res;
+    /**
+     * Computes the output of this layer without allocating memory.
+     *
+     * @param input  the input vector, containing at least {@link #getInputSize()} values
+     * @param output the array to write the output vector to, containing at least {@link #getOutputSize()} values
+     */
+    public void forward(double[] input, double[] output) {
+        // Multiply, add bias and activate in one pass
+        LayerKernel.DEFAULT.forward(weights, 0, outputSize, inputSize, input, 0, output, 0, useTanH);
     }
 
     /**
@@ -94,9 +104,10 @@ public class Layer implements Serializable {
      *
      * @param weight the weight value to mutate
      * @param stddev the standard deviation of the noise to add
+     * @param random the pseudorandom number generator for the noise
      * @return the mutated value
      */
-    private double mutateWeight(double weight, double stddev) {
+    private double mutateWeight(double weight, double stddev, RandomGenerator random) {
         double res = weight + random.nextGaussian(0.0, stddev);
 
         return Math.min(maxWeight, Math.max(-maxWeight, res));
@@ -106,23 +117,50 @@ public class Layer implements Serializable {
      * Mutates this layer with element wise zero mean gaussian noise and returns the result as a new instance.
      *
      * @param stddev the standard deviation of the noise to add
+     * @param random the pseudorandom number generator for the noise, e.g. the stream of the mutating individual
      * @return a new layer with identical weights except added noise
      */
-    public Layer mutate(double stddev) {
-        double[][] weightsClone = new double[weights.length][weights[0].length];
+    public Layer mutate(double stddev, RandomGenerator random) {
+        double[] weightsClone = new double[weights.length];
+
+        for (int i = 0; i < weights.length; i++)
+            weightsClone[i] = mutateWeight(weights[i], stddev, random);
+
+        return new Layer(weightsClone, inputSize, outputSize, useTanH, maxWeight);
+    }
+
+    /**
+     * Copies the weight matrix of this layer, including bias, in row-major order to a given array.
+     *
+     * @param dest   the array to copy the weights to
+     * @param offset the index in the destination array to start at
+     */
+    public void copyWeights(double[] dest, int offset) {
+        System.arraycopy(weights, 0, dest, offset, weights.length);
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public int getOutputSize() {
+        return outputSize;
+    }
 
-        for (int y = 0; y < weights.length; y++)
-            for (int x = 0; x < weights[0].length; x++)
-                weightsClone[y][x] = mutateWeight(weights[y][x], stddev);
+    public boolean usesTanH() {
+        return useTanH;
+    }
 
-        return new Layer(weightsClone, useTanH, random, maxWeight);
+    public double getMaxWeight() {
+        return maxWeight;
     }
 
     @Override
     public String toString() {
         var df = new DecimalFormat(" #,##0.00;-#");
-        return Arrays.stream(weights)
-                .map(row -> Arrays.stream(row)
+        int rowLength = inputSize + 1;
+        return IntStream.range(0, outputSize)
+                .mapToObj(y -> Arrays.stream(weights, y * rowLength, (y + 1) * rowLength)
                         .mapToObj(df::format)
                         .collect(Collectors.joining(" ", "[", "]")))
                 .collect(Collectors.joining("\n ", "[", "]"));
@@ -0,0 +1,76 @@
+package de.javaabc.aipopulation.dnn;
+
+/**
+ * A compute kernel for dense {@link Layer}s.
+ * <p>
+ * A kernel computes output = activation(weights * (input, 1)) in one pass,
+ * with the weights stored in row-major order and the bias in the last column of each row.
+ * The fastest available implementation is selected once at startup: the vectorized kernel if the
+ * {@code jdk.incubator.vector} module is present (JVM option {@code --add-modules jdk.incubator.vector}),
+ * the scalar kernel otherwise. Setting the system property {@code aipopulation.kernel=scalar} forces the scalar kernel.
+ *
+ * @author Timo Friedl
+ */
+public interface LayerKernel {
+    /**
+     * the kernel selected at startup
+     */
+    LayerKernel DEFAULT = select();
+
+    /**
+     * Computes the activated output of one layer for one input vector.
+     *
+     * @param weights      the array containing the row-major weight matrix, including bias
+     * @param weightOffset the index of the first weight in the weights array
+     * @param rows         the number of rows (outputs) of the weight matrix
+     * @param columns      the number of columns (inputs) of the weight matrix, excluding the bias column
+     * @param input        the array containing the input vector
+     * @param inputOffset  the index of the first input value in the input array
+     * @param output       the array to write the output vector to
+     * @param outputOffset the index of the first output value in the output array
+     * @param useTanH      a flag indicating if the tanh() activation is used instead of ReLU
+     */
+    void forward(double[] weights, int weightOffset, int rows, int columns, double[] input, int inputOffset,
+                 double[] output, int outputOffset, boolean useTanH);
+
+    /**
+     * Computes the activated outputs of one layer for a range of networks whose weights, inputs and outputs
+     * are each packed contiguously, one block per network.
+     *
+     * @param weights the packed weight matrices, each one having rows x (columns + 1) values
+     * @param rows    the number of rows (outputs) of each weight matrix
+     * @param columns the number of columns (inputs) of each weight matrix, excluding the bias column
+     * @param inputs  the packed input vectors, each one having columns values
+     * @param outputs the packed output vectors to write to, each one having rows values
+     * @param from    the first network index (inclusive)
+     * @param to      the last network index (exclusive)
+     * @param useTanH a flag indicating if the tanh() activation is used instead of ReLU
+     */
+    default void forwardBatch(double[] weights, int rows, int columns, double[] inputs, double[] outputs,
+                              int from, int to, boolean useTanH) {
+        int matrixSize = rows * (columns + 1);
+        for (int n = from; n < to; n++)
+            forward(weights, n * matrixSize, rows, columns, inputs, n * columns, outputs, n * rows, useTanH);
+    }
+
+    /**
+     * Selects the fastest kernel that is available in the running JVM.
+     *
+     * @return a new kernel instance
+     */
+    private static LayerKernel select() {
+        boolean vectorAvailable = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+        if (vectorAvailable && !"scalar".equals(System.getProperty("aipopulation.kernel"))) {
+            try {
+                return (LayerKernel) Class.forName("de.javaabc.aipopulation.dnn.VectorLayerKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                e.printStackTrace();
+            }
+        }
+
+        return new ScalarLayerKernel();
+    }
+}
@@ -1,7 +1,7 @@
 package de.javaabc.aipopulation.dnn;
 
 import java.io.Serializable;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * A basic neural network consisting of ReLU-activated {@link Layer}s and a tanh-activated output {@link Layer}.
@@ -14,28 +14,23 @@ public class NeuralNetwork implements Serializable {
      */
     private final Layer[] layers;
 
-    /**
-     * a pseudorandom number generator for weight mutations
-     */
-    private final Random random;
-
     /**
      * Creates a new neural network given its layers.
      *
      * @param layers the layers in this neural network
      */
-    private NeuralNetwork(Layer[] layers) {
+    public NeuralNetwork(Layer[] layers) {
         this.layers = layers;
-        random = new Random();
     }
 
     /**
      * Creates a new neural network with (pseudo-)randomly initialized layers of given sizes.
      *
-     * @param layerSizes the number of neurons in each layer, ordered input - hidden - output
+     * @param random     the pseudorandom number generator for initialization
      * @param maxWeight  the maximum absolute value of layer weights after mutation
+     * @param layerSizes the number of neurons in each layer, ordered input - hidden - output
      */
-    public NeuralNetwork(double maxWeight, int... layerSizes) {
+    public NeuralNetwork(RandomGenerator random, double maxWeight, int... layerSizes) {
         this(new Layer[layerSizes.length - 1]);
 
         for (int i = 0; i < layers.length - 1; i++)
@@ -51,24 +46,67 @@ public class NeuralNetwork implements Serializable {
      * @return the computed output vector
      */
     public double[] feedForward(double[] input) {
-        for (Layer layer : layers)
-            input = layer.forward(input);
+        double[] output = new double[getOutputSize()];
+        feedForward(input, output, createHiddenOutputs());
+        return output;
+    }
 
-        return input;
+    /**
+     * Computes the output of this {@link NeuralNetwork} without allocating memory.
+     * The intermediate results are stored in buffers owned by the caller,
+     * so one network can be shared by multiple individuals and evaluated by multiple threads at once.
+     *
+     * @param input         the input vector
+     * @param output        the array to write the output vector to
+     * @param hiddenOutputs the buffers for the outputs of all but the last layer, see {@link #createHiddenOutputs()}
+     */
+    public void feedForward(double[] input, double[] output, double[][] hiddenOutputs) {
+        for (int i = 0; i < layers.length; i++) {
+            double[] layerOutput = i == layers.length - 1 ? output : hiddenOutputs[i];
+            layers[i].forward(input, layerOutput);
+            input = layerOutput;
+        }
     }
 
     /**
      * Mutates all layers of this {@link NeuralNetwork} with zero mean gaussian noise.
      *
      * @param stddev the standard deviation for the added noise of each weight value
+     * @param random the pseudorandom number generator for the noise, e.g. the stream of the mutating individual
      * @return a new neural network with mutated weights
      */
-    public NeuralNetwork mutate(double stddev) {
+    public NeuralNetwork mutate(double stddev, RandomGenerator random) {
         Layer[] layersClone = new Layer[layers.length];
 
         for (int i = 0; i < layers.length; i++)
-            layersClone[i] = layers[i].mutate(stddev);
+            layersClone[i] = layers[i].mutate(stddev, random);
 
         return new NeuralNetwork(layersClone);
     }
+
+    /**
+     * @return new buffers for the outputs of all but the last layer, to pass to {@link #feedForward(double[], double[], double[][])}
+     */
+    public double[][] createHiddenOutputs() {
+        double[][] hiddenOutputs = new double[layers.length - 1][];
+        for (int i = 0; i < hiddenOutputs.length; i++)
+            hiddenOutputs[i] = new double[layers[i].getOutputSize()];
+        return hiddenOutputs;
+    }
+
+    public int getInputSize() {
+        return layers[0].getInputSize();
+    }
+
+    public int getOutputSize() {
+        return layers[layers.length - 1].getOutputSize();
+    }
+
+    public int getNumberOfLayers() {
+        return layers.length;
+    }
+
+    public Layer getLayer(int index) {
+        return layers[index];
+    }
 }
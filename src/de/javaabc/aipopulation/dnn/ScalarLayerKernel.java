@@ -0,0 +1,30 @@
+package de.javaabc.aipopulation.dnn;
+
+import de.javaabc.aipopulation.util.MathUtil;
+
+/**
+ * A {@link LayerKernel} using plain scalar loops, available on every JVM.
+ *
+ * @author Timo Friedl
+ */
+public class ScalarLayerKernel implements LayerKernel {
+    @Override
+    public void forward(double[] weights, int weightOffset, int rows, int columns, double[] input, int inputOffset,
+                        double[] output, int outputOffset, boolean useTanH) {
+        int rowLength = columns + 1;
+
+        for (int y = 0, row = weightOffset; y < rows; y++, row += rowLength) {
+            double sum = 0.0;
+            for (int x = 0; x < columns; x++)
+                sum += weights[row + x] * input[inputOffset + x];
+            sum += weights[row + columns]; // Bias
+
+            output[outputOffset + y] = useTanH ? Math.tanh(sum) : MathUtil.relu(sum);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
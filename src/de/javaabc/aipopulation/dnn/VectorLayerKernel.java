@@ -0,0 +1,51 @@
+package de.javaabc.aipopulation.dnn;
+
+import de.javaabc.aipopulation.util.MathUtil;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A {@link LayerKernel} using SIMD instructions through the incubating JDK Vector API.
+ * Each row of the weight matrix is multiplied with the input vector using fused multiply-add on full vectors,
+ * the remaining columns, the bias and the activation are handled in the same pass.
+ * <p>
+ * This class must only be loaded if the {@code jdk.incubator.vector} module is present.
+ *
+ * @author Timo Friedl
+ */
+public class VectorLayerKernel implements LayerKernel {
+    /**
+     * the preferred vector shape of the current hardware
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void forward(double[] weights, int weightOffset, int rows, int columns, double[] input, int inputOffset,
+                        double[] output, int outputOffset, boolean useTanH) {
+        int rowLength = columns + 1;
+        int bound = SPECIES.loopBound(columns);
+
+        for (int y = 0, row = weightOffset; y < rows; y++, row += rowLength) {
+            var acc = DoubleVector.zero(SPECIES);
+            int x = 0;
+            for (; x < bound; x += SPECIES.length()) {
+                var w = DoubleVector.fromArray(SPECIES, weights, row + x);
+                var in = DoubleVector.fromArray(SPECIES, input, inputOffset + x);
+                acc = w.fma(in, acc);
+            }
+
+            double sum = acc.reduceLanes(VectorOperators.ADD);
+            for (; x < columns; x++)
+                sum += weights[row + x] * input[inputOffset + x];
+            sum += weights[row + columns]; // Bias
+
+            output[outputOffset + y] = useTanH ? Math.tanh(sum) : MathUtil.relu(sum);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+}
@@ -0,0 +1,187 @@
+package de.javaabc.aipopulation.geom;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+
+import static de.javaabc.aipopulation.geom.Geometry.pointSegmentSqDistance;
+import static de.javaabc.aipopulation.geom.Geometry.segmentSegmentSqDistance;
+
+/**
+ * A geometric capsule, i.e. all points within a certain radius around a line segment.
+ * <p>
+ * Intersection tests with other capsules, {@link Circle}s and rectangles are computed analytically.
+ * The outline path that is needed to draw this capsule is only created on demand.
+ *
+ * @author Timo Friedl
+ */
+public class Capsule implements Shape {
+    /**
+     * the start point of the center segment
+     */
+    private final double ax, ay;
+
+    /**
+     * the end point of the center segment
+     */
+    private final double bx, by;
+
+    /**
+     * the radius around the center segment
+     */
+    private final double radius;
+
+    /**
+     * the lazily created outline of this capsule
+     */
+    private Shape outline;
+
+    /**
+     * Creates a new capsule given its center segment and radius.
+     *
+     * @param from   the {@link Vec}tor to the start point of the center segment
+     * @param to     the {@link Vec}tor to the end point of the center segment
+     * @param radius the radius around the center segment
+     */
+    public Capsule(Vec from, Vec to, double radius) {
+        this.ax = from.x();
+        this.ay = from.y();
+        this.bx = to.x();
+        this.by = to.y();
+        this.radius = radius;
+    }
+
+    /**
+     * Creates a new capsule given its center position and orientation.
+     *
+     * @param center     the {@link Vec}tor to the center point of the capsule
+     * @param rot        the {@link Rot}ation of the center segment
+     * @param halfLength half of the length of the center segment
+     * @param radius     the radius around the center segment
+     * @return a new capsule instance
+     */
+    public static Capsule around(Vec center, Rot rot, double halfLength, double radius) {
+        Vec half = Vec.unit(rot).scale(halfLength);
+        return new Capsule(center.sub(half), center.add(half), radius);
+    }
+
+    /**
+     * Checks whether this capsule intersects another capsule.
+     *
+     * @param other the other capsule
+     * @return true iff both capsules share at least one point
+     */
+    public boolean intersects(Capsule other) {
+        double r = radius + other.radius;
+        return segmentSegmentSqDistance(ax, ay, bx, by, other.ax, other.ay, other.bx, other.by) <= r * r;
+    }
+
+    /**
+     * Checks whether this capsule intersects a {@link Circle}.
+     *
+     * @param circle the circle to check
+     * @return true iff this capsule and the circle share at least one point
+     */
+    public boolean intersects(Circle circle) {
+        double r = radius + circle.getWidth() / 2.0;
+        return pointSegmentSqDistance(circle.getCenterX(), circle.getCenterY(), ax, ay, bx, by) <= r * r;
+    }
+
+    @Override
+    public boolean intersects(double x, double y, double w, double h) {
+        if (w <= 0.0 || h <= 0.0)
+            return false;
+
+        // Center segment starts or ends inside the rectangle
+        if (insideRect(ax, ay, x, y, w, h) || insideRect(bx, by, x, y, w, h))
+            return true;
+
+        // Otherwise, the closest point of the rectangle is on one of its edges
+        double x2 = x + w, y2 = y + h;
+        double sqDistance = Math.min(
+                Math.min(segmentSegmentSqDistance(ax, ay, bx, by, x, y, x2, y),
+                        segmentSegmentSqDistance(ax, ay, bx, by, x2, y, x2, y2)),
+                Math.min(segmentSegmentSqDistance(ax, ay, bx, by, x2, y2, x, y2),
+                        segmentSegmentSqDistance(ax, ay, bx, by, x, y2, x, y)));
+        return sqDistance <= radius * radius;
+    }
+
+    @Override
+    public boolean intersects(Rectangle2D r) {
+        return intersects(r.getX(), r.getY(), r.getWidth(), r.getHeight());
+    }
+
+    @Override
+    public boolean contains(double x, double y) {
+        return pointSegmentSqDistance(x, y, ax, ay, bx, by) <= radius * radius;
+    }
+
+    @Override
+    public boolean contains(Point2D p) {
+        return contains(p.getX(), p.getY());
+    }
+
+    @Override
+    public boolean contains(double x, double y, double w, double h) {
+        // A capsule is convex, so it contains a rectangle iff it contains all of its corners
+        return contains(x, y) && contains(x + w, y) && contains(x, y + h) && contains(x + w, y + h);
+    }
+
+    @Override
+    public boolean contains(Rectangle2D r) {
+        return contains(r.getX(), r.getY(), r.getWidth(), r.getHeight());
+    }
+
+    @Override
+    public Rectangle2D getBounds2D() {
+        double minX = Math.min(ax, bx), minY = Math.min(ay, by);
+        return new Rectangle2D.Double(minX - radius, minY - radius,
+                Math.abs(bx - ax) + 2.0 * radius, Math.abs(by - ay) + 2.0 * radius);
+    }
+
+    @Override
+    public Rectangle getBounds() {
+        return getBounds2D().getBounds();
+    }
+
+    @Override
+    public PathIterator getPathIterator(AffineTransform at) {
+        return outline().getPathIterator(at);
+    }
+
+    @Override
+    public PathIterator getPathIterator(AffineTransform at, double flatness) {
+        return outline().getPathIterator(at, flatness);
+    }
+
+    /**
+     * Creates the outline of this capsule if not done yet.
+     * The outline is an axis-aligned rounded rectangle, rotated and moved to the center segment.
+     *
+     * @return the outline {@link Shape} of this capsule
+     */
+    private Shape outline() {
+        if (outline == null) {
+            double halfLength = Math.hypot(bx - ax, by - ay) / 2.0;
+            var rect = new RoundRectangle2D.Double(-halfLength - radius, -radius,
+                    2.0 * (halfLength + radius), 2.0 * radius, 2.0 * radius, 2.0 * radius);
+
+            var transform = new AffineTransform();
+            transform.translate((ax + bx) / 2.0, (ay + by) / 2.0);
+            transform.rotate(Math.atan2(by - ay, bx - ax));
+            outline = transform.createTransformedShape(rect);
+        }
+
+        return outline;
+    }
+
+    /**
+     * @return true iff the point (px, py) is inside the rectangle (x, y, w, h)
+     */
+    private static boolean insideRect(double px, double py, double x, double y, double w, double h) {
+        return px >= x && px <= x + w && py >= y && py <= y + h;
+    }
+}
@@ -1,9 +1,5 @@
 package de.javaabc.aipopulation.geom;
 
-import java.awt.*;
-import java.awt.geom.Area;
-import java.awt.geom.Path2D;
-
 /**
  * A utility class for geometric computations.
  *
@@ -11,17 +7,86 @@ import java.awt.geom.Path2D;
  */
 public class Geometry {
     /**
-     * Computes the union area of given {@link Shape}s.
+     * Computes the squared distance between a point and a line segment.
+     *
+     * @param px the x-coordinate of the point
+     * @param py the y-coordinate of the point
+     * @param ax the x-coordinate of the segment's start point
+     * @param ay the y-coordinate of the segment's start point
+     * @param bx the x-coordinate of the segment's end point
+     * @param by the y-coordinate of the segment's end point
+     * @return the squared euclidean distance from the point to the closest point on the segment
+     */
+    public static double pointSegmentSqDistance(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax, dy = by - ay;
+        double lengthSq = dx * dx + dy * dy;
+
+        // Project point onto segment and clamp to its end points
+        double t = lengthSq == 0.0 ? 0.0 : ((px - ax) * dx + (py - ay) * dy) / lengthSq;
+        t = Math.min(1.0, Math.max(0.0, t));
+
+        double cx = ax + t * dx - px, cy = ay + t * dy - py;
+        return cx * cx + cy * cy;
+    }
+
+    /**
+     * Computes the squared distance between two line segments.
+     *
+     * @param ax the x-coordinate of the first segment's start point
+     * @param ay the y-coordinate of the first segment's start point
+     * @param bx the x-coordinate of the first segment's end point
+     * @param by the y-coordinate of the first segment's end point
+     * @param cx the x-coordinate of the second segment's start point
+     * @param cy the y-coordinate of the second segment's start point
+     * @param dx the x-coordinate of the second segment's end point
+     * @param dy the y-coordinate of the second segment's end point
+     * @return the squared euclidean distance between the closest points of both segments
+     */
+    public static double segmentSegmentSqDistance(double ax, double ay, double bx, double by,
+                                                  double cx, double cy, double dx, double dy) {
+        if (segmentsIntersect(ax, ay, bx, by, cx, cy, dx, dy))
+            return 0.0;
+
+        // Without intersection, the minimal distance is attained at one of the four end points
+        return Math.min(
+                Math.min(pointSegmentSqDistance(ax, ay, cx, cy, dx, dy), pointSegmentSqDistance(bx, by, cx, cy, dx, dy)),
+                Math.min(pointSegmentSqDistance(cx, cy, ax, ay, bx, by), pointSegmentSqDistance(dx, dy, ax, ay, bx, by)));
+    }
+
+    /**
+     * Checks whether two line segments intersect (or touch) each other.
      *
-     * @param shapes the shape objects to union
-     * @return an {@link Area} object representing the union of the given shapes
+     * @return true iff the segments a-b and c-d share at least one point
      */
-    public static Area unionConvex(Shape... shapes) {
-        Path2D path = new Path2D.Double();
+    public static boolean segmentsIntersect(double ax, double ay, double bx, double by,
+                                            double cx, double cy, double dx, double dy) {
+        double d1 = cross(cx, cy, dx, dy, ax, ay);
+        double d2 = cross(cx, cy, dx, dy, bx, by);
+        double d3 = cross(ax, ay, bx, by, cx, cy);
+        double d4 = cross(ax, ay, bx, by, dx, dy);
 
-        for (Shape shape : shapes)
-            path.append(shape, false);
+        if (((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) && ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0)))
+            return true; // Proper intersection
 
-        return new Area(path);
+        // Collinear or touching cases
+        return (d1 == 0 && onSegment(cx, cy, dx, dy, ax, ay))
+                || (d2 == 0 && onSegment(cx, cy, dx, dy, bx, by))
+                || (d3 == 0 && onSegment(ax, ay, bx, by, cx, cy))
+                || (d4 == 0 && onSegment(ax, ay, bx, by, dx, dy));
+    }
+
+    /**
+     * @return the z-component of the cross product (b - a) x (p - a)
+     */
+    private static double cross(double ax, double ay, double bx, double by, double px, double py) {
+        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    }
+
+    /**
+     * @return true iff the point p, known to be collinear with a and b, lies within the bounding box of a and b
+     */
+    private static boolean onSegment(double ax, double ay, double bx, double by, double px, double py) {
+        return Math.min(ax, bx) <= px && px <= Math.max(ax, bx)
+                && Math.min(ay, by) <= py && py <= Math.max(ay, by);
     }
 }
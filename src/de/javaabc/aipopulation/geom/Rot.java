@@ -56,6 +56,16 @@ public record Rot(double radians) implements Serializable {
      * @return the value of this angle in range [0.0, 1.0)
      */
     public double normalized() {
+        return normalized(radians);
+    }
+
+    /**
+     * Normalizes an angle without creating a {@link Rot} instance.
+     *
+     * @param radians the value of the angle measured in radians
+     * @return the value of the angle in range [0.0, 1.0)
+     */
+    public static double normalized(double radians) {
         return radians % TWO_PI / TWO_PI;
     }
 
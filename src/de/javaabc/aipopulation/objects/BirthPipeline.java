@@ -0,0 +1,126 @@
+package de.javaabc.aipopulation.objects;
+
+import de.javaabc.aipopulation.dnn.NeuralNetwork;
+import de.javaabc.aipopulation.geom.Rot;
+import de.javaabc.aipopulation.geom.Vec;
+import de.javaabc.aipopulation.world.World;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Creates the children of many {@link Individual}s of one {@link World} at once.
+ * <p>
+ * Reproduction happens in three stages:
+ * <ol>
+ *     <li>{@link #request(Individual, int, boolean)} splits the fitness of a parent,
+ *     and a stream of pseudorandom numbers for each child off the parent's stream, in the order of the requests.</li>
+ *     <li>{@link #commit()} mutates all children in parallel, most notably their brain weights.
+ *     Each child only draws from its own stream, so the result does not depend on the number of threads or their scheduling.</li>
+ *     <li>The children are created in the order of the requests and added to the world in one batch.</li>
+ * </ol>
+ * The gaussian noise comes from {@link SplittableRandom#nextGaussian(double, double)}, which uses a fast ziggurat algorithm
+ * and, unlike {@link java.util.Random}, no synchronization.
+ *
+ * @author Timo Friedl
+ */
+public class BirthPipeline {
+    /**
+     * the minimum number of children to mutate in parallel, fewer are not worth the overhead
+     */
+    private static final int PARALLEL_THRESHOLD = 8;
+
+    /**
+     * the world the parents live in and the children are added to
+     */
+    private final World world;
+
+    /**
+     * the children requested since the last commit, in the order of the requests
+     */
+    private final List<Birth> births = new ArrayList<>();
+
+    /**
+     * A requested child that has not been mutated yet.
+     *
+     * @param parent the individual that reproduces itself
+     * @param energy the share of the parent's fitness the child starts with
+     * @param random the own stream of pseudorandom numbers of the child
+     */
+    private record Birth(Individual parent, double energy, SplittableRandom random) {
+    }
+
+    /**
+     * The mutated properties of a child.
+     *
+     * @param pos            the center position of the child, measured in px
+     * @param speed          the {@link Vec}tor of translational speed of the child, measured in px / tick
+     * @param rot            the {@link Rot}ation of the child
+     * @param rotSpeed       the rotation speed of the child, measured in radians / tick
+     * @param color          the render color of the child
+     * @param brain          the mutated {@link NeuralNetwork} of the child
+     * @param mutationFactor the mutated mutation factor of the child
+     */
+    record Offspring(Vec pos, Vec speed, Rot rot, Rot rotSpeed, Color color, NeuralNetwork brain, double mutationFactor) {
+    }
+
+    /**
+     * Creates a new, empty birth pipeline.
+     *
+     * @param world the world the parents live in and the children are added to
+     */
+    public BirthPipeline(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Requests children of an individual, which are created by the next {@link #commit()}.
+     * The fitness of the parent is split immediately.
+     *
+     * @param parent           the individual that reproduces itself
+     * @param numberOfChildren the number of child individuals to produce
+     * @param force            an option to overwrite the potential preference of the parent not to reproduce
+     */
+    public void request(Individual parent, int numberOfChildren, boolean force) {
+        if (!force && !parent.wantsToReproduce())
+            return;
+
+        double energy = parent.shareEnergy(numberOfChildren);
+        for (int i = 0; i < numberOfChildren; i++)
+            births.add(new Birth(parent, energy, parent.splitRandom()));
+    }
+
+    /**
+     * Mutates all requested children in parallel and adds them to the world in one batch.
+     * Must be called by the thread that ticks the world.
+     *
+     * @return the number of added children
+     */
+    public int commit() {
+        int size = births.size();
+        if (size == 0)
+            return 0;
+
+        // Mutate: each child only reads its parent and draws from its own stream
+        var offspring = new Offspring[size];
+        IntStream indices = IntStream.range(0, size);
+        (size >= PARALLEL_THRESHOLD ? indices.parallel() : indices).forEach(i -> {
+            Birth birth = births.get(i);
+            offspring[i] = birth.parent().mutate(birth.random());
+        });
+
+        // Create: sequentially, as each child allocates a slot in the body store
+        List<Individual> children = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Birth birth = births.get(i);
+            children.add(birth.parent().createChild(offspring[i], birth.energy(), birth.random()));
+        }
+        births.clear();
+
+        world.getIndividuals().addAll(children);
+        return size;
+    }
+}
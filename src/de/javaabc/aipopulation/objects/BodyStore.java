@@ -0,0 +1,183 @@
+package de.javaabc.aipopulation.objects;
+
+import java.util.Arrays;
+
+/**
+ * The physical state of many {@link MovableObject}s, stored as one array per property (structure of arrays).
+ * <p>
+ * Each bound object is a handle to one slot of this store.
+ * The integrator updates all slots in tight loops without creating any objects,
+ * which also allows the JIT compiler to vectorize them.
+ * Released slots are zeroed, so integrating them has no effect, and they are reused by later allocations.
+ *
+ * @author Timo Friedl
+ */
+public class BodyStore {
+    /**
+     * the constant value of 2π
+     */
+    private static final double TWO_PI = Math.PI * 2.0;
+
+    /**
+     * the position of each slot, measured in px
+     */
+    double[] x, y;
+
+    /**
+     * the translational speed of each slot, measured in px / tick
+     */
+    double[] vx, vy;
+
+    /**
+     * the translational acceleration of each slot, measured in px / tick^2
+     */
+    double[] ax, ay;
+
+    /**
+     * the angle of each slot, measured in radians
+     */
+    double[] angle;
+
+    /**
+     * the angular velocity of each slot, measured in radians / tick
+     */
+    double[] angularVelocity;
+
+    /**
+     * the angular acceleration of each slot, measured in radians / tick^2
+     */
+    double[] angularAcc;
+
+    /**
+     * the fitness of each slot (only used by {@link Individual}s)
+     */
+    double[] energy;
+
+    /**
+     * the age of each slot, measured in ticks (only used by {@link Individual}s)
+     */
+    long[] age;
+
+    /**
+     * the number of slots that have ever been allocated, including released ones
+     */
+    private int size;
+
+    /**
+     * the stack of released slots that can be reused
+     */
+    private int[] freeSlots;
+
+    /**
+     * the number of entries in {@link #freeSlots}
+     */
+    private int numberOfFreeSlots;
+
+    /**
+     * Creates a new empty store.
+     */
+    public BodyStore() {
+        grow(64);
+        freeSlots = new int[16];
+    }
+
+    /**
+     * Reserves a slot for a new object. All of its properties are zero.
+     *
+     * @return the index of the reserved slot
+     */
+    synchronized int allocate() {
+        if (numberOfFreeSlots > 0)
+            return freeSlots[--numberOfFreeSlots];
+
+        if (size == x.length)
+            grow(size * 2);
+        return size++;
+    }
+
+    /**
+     * Zeroes a slot and makes it available for reuse.
+     *
+     * @param slot the index of the slot to release
+     */
+    synchronized void release(int slot) {
+        x[slot] = y[slot] = 0.0;
+        vx[slot] = vy[slot] = 0.0;
+        ax[slot] = ay[slot] = 0.0;
+        angle[slot] = angularVelocity[slot] = angularAcc[slot] = 0.0;
+        energy[slot] = 0.0;
+        age[slot] = 0L;
+
+        if (numberOfFreeSlots == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        freeSlots[numberOfFreeSlots++] = slot;
+    }
+
+    /**
+     * Grows all arrays to a given capacity.
+     *
+     * @param capacity the new number of slots
+     */
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x == null ? new double[0] : x, capacity);
+        y = Arrays.copyOf(y == null ? new double[0] : y, capacity);
+        vx = Arrays.copyOf(vx == null ? new double[0] : vx, capacity);
+        vy = Arrays.copyOf(vy == null ? new double[0] : vy, capacity);
+        ax = Arrays.copyOf(ax == null ? new double[0] : ax, capacity);
+        ay = Arrays.copyOf(ay == null ? new double[0] : ay, capacity);
+        angle = Arrays.copyOf(angle == null ? new double[0] : angle, capacity);
+        angularVelocity = Arrays.copyOf(angularVelocity == null ? new double[0] : angularVelocity, capacity);
+        angularAcc = Arrays.copyOf(angularAcc == null ? new double[0] : angularAcc, capacity);
+        energy = Arrays.copyOf(energy == null ? new double[0] : energy, capacity);
+        age = Arrays.copyOf(age == null ? new long[0] : age, capacity);
+    }
+
+    /**
+     * Integrates the motion of all slots for one tick and applies friction afterwards.
+     *
+     * @param translationalFriction the portion of translational speed that is retained
+     * @param rotationalFriction    the portion of rotational speed that is retained
+     */
+    public void integrate(double translationalFriction, double rotationalFriction) {
+        integrate(0, size, translationalFriction, rotationalFriction);
+    }
+
+    /**
+     * Integrates the motion of a range of slots for one tick and applies friction afterwards.
+     * <p>
+     * Note that this is not a physically accurate way of computing kinematics.
+     * There are more numerically stable options.
+     *
+     * @param from                  the first slot (inclusive)
+     * @param to                    the last slot (exclusive)
+     * @param translationalFriction the portion of translational speed that is retained
+     * @param rotationalFriction    the portion of rotational speed that is retained
+     */
+    public void integrate(int from, int to, double translationalFriction, double rotationalFriction) {
+        // One simple loop per axis, so each of them can be vectorized
+        for (int i = from; i < to; i++) {
+            vx[i] += ax[i];
+            x[i] += vx[i];
+            vx[i] *= translationalFriction;
+        }
+
+        for (int i = from; i < to; i++) {
+            vy[i] += ay[i];
+            y[i] += vy[i];
+            vy[i] *= translationalFriction;
+        }
+
+        for (int i = from; i < to; i++) {
+            angularVelocity[i] = (angularVelocity[i] + angularAcc[i]) % TWO_PI;
+            angle[i] = (angle[i] + angularVelocity[i]) % TWO_PI;
+            angularVelocity[i] *= rotationalFriction;
+        }
+    }
+
+    /**
+     * @return the number of slots that have ever been allocated, including released ones
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -1,11 +1,11 @@
 package de.javaabc.aipopulation.objects;
 
-import de.javaabc.aipopulation.Simulation;
 import de.javaabc.aipopulation.geom.Line;
 import de.javaabc.aipopulation.geom.Rot;
 import de.javaabc.aipopulation.geom.Vec;
 import de.javaabc.aipopulation.util.RenderUtils;
 import de.javaabc.aipopulation.util.Tickable;
+import de.javaabc.aipopulation.world.World;
 
 import java.awt.*;
 import java.io.Serializable;
@@ -24,9 +24,9 @@ import java.util.Optional;
  */
 public class Eye implements Tickable, Serializable {
     /**
-     * A reference to the main {@link Simulation}.
+     * the {@link World} the owner of this eye lives in
      */
-    private transient Simulation simulation;
+    private transient World world;
 
     /**
      * the {@link Individual} owning this eye
@@ -76,11 +76,11 @@ public class Eye implements Tickable, Serializable {
     /**
      * Creates a new visual system for a certain individual.
      *
-     * @param simulation the reference to the main {@link Simulation}
-     * @param owner      the {@link Individual} owning this eye
+     * @param world the {@link World} the owner of this eye lives in
+     * @param owner the {@link Individual} owning this eye
      */
-    public Eye(Simulation simulation, MovableObject owner) {
-        this.simulation = simulation;
+    public Eye(World world, MovableObject owner) {
+        this.world = world;
         this.owner = owner;
         this.foodTarget = Optional.empty();
         this.enemyTarget = Optional.empty();
@@ -89,7 +89,7 @@ public class Eye implements Tickable, Serializable {
     @Override
     public void tick() {
         // Food
-        foodTarget = owner.findClosest(simulation.getWorld().getFoodObjects());
+        foodTarget = world.getFoodGrid().findClosest(owner);
         foodTarget.ifPresentOrElse(food -> {
             Vec distance = owner.vectorTo(food);
             detectedFoodSqDistance = distance.squareLength();
@@ -100,7 +100,7 @@ public class Eye implements Tickable, Serializable {
         });
 
         // Other individual
-        enemyTarget = owner.findClosest(simulation.getWorld().getIndividuals());
+        enemyTarget = world.getIndividualGrid().findClosest(owner);
         enemyTarget.ifPresentOrElse(enemy -> {
             Vec distance = owner.vectorTo(enemy);
             detectedEnemySqDistance = distance.squareLength();
@@ -155,7 +155,7 @@ public class Eye implements Tickable, Serializable {
         return detectedEnemySaturation;
     }
 
-    public void setSimulation(Simulation simulation) {
-        this.simulation = simulation;
+    public void setWorld(World world) {
+        this.world = world;
     }
 }
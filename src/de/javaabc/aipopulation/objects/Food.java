@@ -5,6 +5,7 @@ import de.javaabc.aipopulation.geom.Vec;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A small dot that gives {@link Individual}s energy when eaten.
@@ -17,6 +18,11 @@ public class Food extends SimulationObject implements Serializable {
      */
     private final double radius;
 
+    /**
+     * a flag indicating that this food object has already been eaten, even if it is not removed from the world yet
+     */
+    private final AtomicBoolean eaten;
+
     /**
      * Creates a new food object at a given position on screen.
      *
@@ -25,10 +31,29 @@ public class Food extends SimulationObject implements Serializable {
     public Food(Vec pos) {
         super(pos, Color.DARK_GRAY);
         this.radius = 5.0; // Default radius is always 5.0
+        this.eaten = new AtomicBoolean();
+    }
+
+    /**
+     * Marks this food object as eaten.
+     *
+     * @return true iff this food object has not been eaten before
+     */
+    public boolean tryEat() {
+        return eaten.compareAndSet(false, true);
     }
 
     @Override
-    protected Shape makeBounds() {
+    protected Circle makeBounds() {
         return new Circle(pos, radius);
     }
+
+    @Override
+    public Circle getBounds() {
+        return (Circle) super.getBounds();
+    }
+
+    public double getRadius() {
+        return radius;
+    }
 }
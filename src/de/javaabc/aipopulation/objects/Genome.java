@@ -0,0 +1,105 @@
+package de.javaabc.aipopulation.objects;
+
+import de.javaabc.aipopulation.dnn.Layer;
+import de.javaabc.aipopulation.dnn.NeuralNetwork;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The heritable properties of an {@link Individual}, which are sent to other processes when migrating.
+ * <p>
+ * The binary encoding is compact and little-endian: generation, mutation factor, color (ARGB), number of layers,
+ * and for each layer its input size, output size, activation flag, maximum weight and row-major weights, including bias.
+ *
+ * @param brain          the {@link NeuralNetwork} that computes the actions of the individual
+ * @param mutationFactor the standard deviation of the zero mean gaussian noise that is added when being mutated
+ * @param color          the render color of the individual
+ * @param generation     the generation of the individual
+ * @author Timo Friedl
+ */
+public record Genome(NeuralNetwork brain, double mutationFactor, Color color, long generation) {
+    /**
+     * the maximum number of layers or neurons per layer of a decoded brain, to reject corrupted messages early
+     */
+    private static final int MAX_DECODED_SIZE = 1 << 16;
+
+    /**
+     * @return the number of bytes of the encoded genome
+     */
+    public int encodedSize() {
+        int size = Long.BYTES + Double.BYTES + Integer.BYTES + Integer.BYTES;
+        for (int l = 0; l < brain.getNumberOfLayers(); l++) {
+            Layer layer = brain.getLayer(l);
+            size += 2 * Integer.BYTES + 1 + Double.BYTES
+                    + layer.getOutputSize() * (layer.getInputSize() + 1) * Double.BYTES;
+        }
+        return size;
+    }
+
+    /**
+     * Writes the encoded genome to a buffer.
+     *
+     * @param buffer the little-endian buffer to write to, having at least {@link #encodedSize()} bytes remaining
+     */
+    public void encode(ByteBuffer buffer) {
+        buffer.putLong(generation).putDouble(mutationFactor).putInt(color.getRGB()).putInt(brain.getNumberOfLayers());
+
+        for (int l = 0; l < brain.getNumberOfLayers(); l++) {
+            Layer layer = brain.getLayer(l);
+            buffer.putInt(layer.getInputSize()).putInt(layer.getOutputSize())
+                    .put((byte) (layer.usesTanH() ? 1 : 0)).putDouble(layer.getMaxWeight());
+
+            double[] weights = new double[layer.getOutputSize() * (layer.getInputSize() + 1)];
+            layer.copyWeights(weights, 0);
+            buffer.asDoubleBuffer().put(weights);
+            buffer.position(buffer.position() + weights.length * Double.BYTES);
+        }
+    }
+
+    /**
+     * Reads an encoded genome from a buffer.
+     *
+     * @param buffer the little-endian buffer to read from
+     * @return a new genome instance
+     * @throws IOException if the buffer does not contain a valid genome
+     */
+    public static Genome decode(ByteBuffer buffer) throws IOException {
+        try {
+            long generation = buffer.getLong();
+            double mutationFactor = buffer.getDouble();
+            var color = new Color(buffer.getInt(), true);
+            int numberOfLayers = checkSize(buffer.getInt());
+
+            var layers = new Layer[numberOfLayers];
+            for (int l = 0; l < numberOfLayers; l++) {
+                int inputSize = checkSize(buffer.getInt()), outputSize = checkSize(buffer.getInt());
+                boolean useTanH = buffer.get() != 0;
+                double maxWeight = buffer.getDouble();
+
+                if ((long) outputSize * (inputSize + 1) * Double.BYTES > buffer.remaining())
+                    throw new IOException("Truncated genome");
+
+                double[] weights = new double[outputSize * (inputSize + 1)];
+                buffer.asDoubleBuffer().get(weights);
+                buffer.position(buffer.position() + weights.length * Double.BYTES);
+                layers[l] = new Layer(weights, inputSize, outputSize, useTanH, maxWeight);
+            }
+
+            return new Genome(new NeuralNetwork(layers), mutationFactor, color, generation);
+        } catch (RuntimeException e) { // BufferUnderflowException, IllegalArgumentException
+            throw new IOException("Invalid genome", e);
+        }
+    }
+
+    /**
+     * @return the given size, if it is in range [1, {@link #MAX_DECODED_SIZE}]
+     * @throws IOException if the size is out of range
+     */
+    private static int checkSize(int size) throws IOException {
+        if (size < 1 || size > MAX_DECODED_SIZE)
+            throw new IOException("Invalid genome size " + size);
+        return size;
+    }
+}
@@ -1,23 +1,21 @@
 package de.javaabc.aipopulation.objects;
 
 import de.javaabc.aipopulation.Simulation;
+import de.javaabc.aipopulation.dnn.Layer;
 import de.javaabc.aipopulation.dnn.NeuralNetwork;
+import de.javaabc.aipopulation.geom.Capsule;
 import de.javaabc.aipopulation.geom.Circle;
-import de.javaabc.aipopulation.geom.Rect;
 import de.javaabc.aipopulation.geom.Rot;
 import de.javaabc.aipopulation.geom.Vec;
 import de.javaabc.aipopulation.util.RenderUtils;
+import de.javaabc.aipopulation.world.World;
 
 import java.awt.*;
-import java.awt.geom.AffineTransform;
-import java.awt.geom.Area;
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Set;
-
-import static de.javaabc.aipopulation.geom.Geometry.unionConvex;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * A small bacteria-like individual that can move and rotate, eat {@link Food} or other individuals,
@@ -41,12 +39,12 @@ public class Individual extends MovableObject implements Comparable<Individual>,
     /**
      * the portion of translational speed that is retained in each tick (must be <= 1.0)
      */
-    private static final double TRANSLATIONAL_FRICTION = 0.9;
+    public static final double TRANSLATIONAL_FRICTION = 0.9;
 
     /**
      * the portion of rotational speed that is retained in each tick (must be <= 1.0)
      */
-    private static final double ROTATIONAL_FRICTION = 0.7;
+    public static final double ROTATIONAL_FRICTION = 0.7;
 
     /**
      * the portion of speed that is retained when an individual bounces against the simulation boundary
@@ -89,9 +87,19 @@ public class Individual extends MovableObject implements Comparable<Individual>,
     private static final double MIN_MUTATION_FACTOR = 1E-4;
 
     /**
-     * the reference to the main {@link Simulation}
+     * the number of memory slots, which are both inputs and outputs of the brain
+     */
+    private static final int MEMORY_SIZE = 5;
+
+    /**
+     * the number of neurons in each layer of the brain, ordered input - hidden - output
      */
-    private transient Simulation simulation;
+    private static final int[] BRAIN_LAYER_SIZES = {12 + MEMORY_SIZE, 12, 12, 4 + MEMORY_SIZE};
+
+    /**
+     * the {@link World} this individual lives in
+     */
+    private transient World world;
 
     /**
      * the radius of the front and back {@link Circle} of this individual, measured in px
@@ -106,7 +114,7 @@ public class Individual extends MovableObject implements Comparable<Individual>,
     private final double halfTorsoLength;
 
     /**
-     * The energy points of this individual.
+     * The energy points of this individual, while not bound to a {@link BodyStore}.
      * This is not the physical energy, but rather a measure of fitness.
      * The more energy, the better chances of survival.
      */
@@ -123,9 +131,10 @@ public class Individual extends MovableObject implements Comparable<Individual>,
     private final Eye eye;
 
     /**
-     * a pseudorandom number generator for mutation
+     * the own stream of pseudorandom numbers for mutation, split from the stream of the parent or the world,
+     * so individuals never contend for a shared generator and runs with the same seed are reproducible
      */
-    private final Random random;
+    private final SplittableRandom random;
 
     /**
      * the standard deviation of the zero mean gaussian noise that is added when being mutated
@@ -133,7 +142,7 @@ public class Individual extends MovableObject implements Comparable<Individual>,
     private final double mutationFactor;
 
     /**
-     * the age of this individual, measured in ticks
+     * the age of this individual, measured in ticks, while not bound to a {@link BodyStore}
      */
     private long age;
 
@@ -149,6 +158,27 @@ public class Individual extends MovableObject implements Comparable<Individual>,
      */
     private double[] memory;
 
+    /**
+     * the reusable input and output buffers for evaluating the brain on its own, created on first use
+     */
+    private transient double[] brainInput, brainOutput;
+
+    /**
+     * the reusable buffers for the hidden layer outputs of the brain, created on first use.
+     * They belong to this individual rather than the brain, because brains are shared, e.g. by {@link #copyTo}.
+     */
+    private transient double[][] brainHidden;
+
+    /**
+     * the {@link Food} objects this individual touched in the current tick
+     */
+    private transient List<Food> foodContacts = List.of();
+
+    /**
+     * the other individual this individual touched and wants to eat in the current tick, if any
+     */
+    private transient Individual preyTarget;
+
     /**
      * a flag indicating whether this individual wants to eat a possibly colliding individual or not
      */
@@ -172,7 +202,31 @@ public class Individual extends MovableObject implements Comparable<Individual>,
     /**
      * Creates a new individual.
      *
-     * @param simulation      the reference to the main {@link Simulation}
+     * @param world           the {@link World} this individual lives in
+     * @param pos             the center position of this individual, measured in px
+     * @param speed           the {@link Vec}tor of translational speed of this individual, measured in px / tick
+     * @param rot             the {@link Rot}ation of this individual
+     * @param rotSpeed        the rotation speed of this individual, measured in radians / tick
+     * @param color           the render color of this individual
+     * @param halfTorsoLength the distance between the center position of the front (or back) circle to this individual's position
+     * @param energy          the fitness of this individual
+     * @param radius          the radius of the front and back {@link Circle} of this individual, measured in px
+     * @param brain           the {@link NeuralNetwork} that computes the actions of this individual
+     * @param mutationFactor  the standard deviation of the zero mean gaussian noise that is added when being mutated
+     * @param memory          an array of double values for this individual's memory
+     * @param generation      the generation of this individual
+     * @param age             the age of this individual, measured in ticks
+     */
+    public Individual(World world, Vec pos, Vec speed, Rot rot, Rot rotSpeed, Color color, double halfTorsoLength, double energy,
+                      double radius, NeuralNetwork brain, double mutationFactor, double[] memory, long generation, long age) {
+        this(world, pos, speed, rot, rotSpeed, color, halfTorsoLength, energy, radius, brain, mutationFactor, memory,
+                generation, age, world.splitRandom());
+    }
+
+    /**
+     * Creates a new individual with its own stream of pseudorandom numbers.
+     *
+     * @param world           the {@link World} this individual lives in
      * @param pos             the center position of this individual, measured in px
      * @param speed           the {@link Vec}tor of translational speed of this individual, measured in px / tick
      * @param rot             the {@link Rot}ation of this individual
@@ -185,11 +239,14 @@ public class Individual extends MovableObject implements Comparable<Individual>,
      * @param mutationFactor  the standard deviation of the zero mean gaussian noise that is added when being mutated
      * @param memory          an array of double values for this individual's memory
      * @param generation      the generation of this individual
+     * @param age             the age of this individual, measured in ticks
+     * @param random          the own stream of pseudorandom numbers of this individual
      */
-    private Individual(Simulation simulation, Vec pos, Vec speed, Rot rot, Rot rotSpeed, Color color, double halfTorsoLength, double energy,
-                       double radius, NeuralNetwork brain, double mutationFactor, double[] memory, long generation) {
+    private Individual(World world, Vec pos, Vec speed, Rot rot, Rot rotSpeed, Color color, double halfTorsoLength, double energy,
+                       double radius, NeuralNetwork brain, double mutationFactor, double[] memory, long generation, long age,
+                       SplittableRandom random) {
         super(pos, speed, rot, rotSpeed, color);
-        this.simulation = simulation;
+        this.world = world;
         this.halfTorsoLength = halfTorsoLength;
         this.energy = energy;
         this.radius = radius;
@@ -197,216 +254,346 @@ public class Individual extends MovableObject implements Comparable<Individual>,
         this.mutationFactor = mutationFactor;
         this.memory = Arrays.copyOf(memory, memory.length);
         this.generation = generation;
+        this.age = age;
+
+        this.random = random;
 
-        eye = new Eye(simulation, this);
-        random = new Random();
+        eye = new Eye(world, this);
+        bind(world.getBodies());
     }
 
     /**
      * Creates a new individual with default values.
      *
-     * @param simulation the reference to the main {@link Simulation}
+     * @param world      the {@link World} this individual lives in
      * @param pos        the center position of this individual, measured in px
      * @param rot        the {@link Rot}ation of this individual
      * @param color      the render color of this individual
      * @param radius     the radius of the front and back {@link Circle} of this individual, measured in px
      */
-    public Individual(Simulation simulation, Vec pos, Rot rot, Color color, double radius) {
-        this(simulation, pos, Vec.ZERO, rot, Rot.ZERO, color, 10.0, 100.0, radius,
-                new NeuralNetwork(10.0, 12 + 5, 12, 12, 4 + 5),
-                1E-2, new double[5], 0L
+    public Individual(World world, Vec pos, Rot rot, Color color, double radius) {
+        this(world, pos, rot, color, radius, world.splitRandom());
+    }
+
+    /**
+     * Creates a new individual with default values and a brain that is initialized by its own stream of pseudorandom numbers.
+     *
+     * @param world  the {@link World} this individual lives in
+     * @param pos    the center position of this individual, measured in px
+     * @param rot    the {@link Rot}ation of this individual
+     * @param color  the render color of this individual
+     * @param radius the radius of the front and back {@link Circle} of this individual, measured in px
+     * @param random the own stream of pseudorandom numbers of this individual
+     */
+    private Individual(World world, Vec pos, Rot rot, Color color, double radius, SplittableRandom random) {
+        this(world, pos, Vec.ZERO, rot, Rot.ZERO, color, 10.0, 100.0, radius,
+                new NeuralNetwork(random, 10.0, BRAIN_LAYER_SIZES),
+                1E-2, new double[MEMORY_SIZE], 0L, 0L, random
         );
     }
 
     /**
-     * Collects the inputs for the neural network and computes its outputs.
+     * Creates a new individual with default values, except for given heritable properties, e.g. of an immigrant.
+     *
+     * @param world  the {@link World} this individual lives in
+     * @param pos    the center position of this individual, measured in px
+     * @param rot    the {@link Rot}ation of this individual
+     * @param radius the radius of the front and back {@link Circle} of this individual, measured in px
+     * @param genome the heritable properties of this individual
+     */
+    public Individual(World world, Vec pos, Rot rot, double radius, Genome genome) {
+        this(world, pos, Vec.ZERO, rot, Rot.ZERO, genome.color(), 10.0, 100.0, radius,
+                genome.brain(), genome.mutationFactor(), new double[MEMORY_SIZE], genome.generation(), 0L
+        );
+    }
+
+    /**
+     * Checks whether a neural network can be the brain of an individual, e.g. before accepting an immigrant.
+     *
+     * @param brain the neural network to check
+     * @return true iff the brain has the same topology as the brains of all individuals
+     */
+    public static boolean isCompatible(NeuralNetwork brain) {
+        if (brain.getNumberOfLayers() != BRAIN_LAYER_SIZES.length - 1)
+            return false;
+
+        for (int l = 0; l < brain.getNumberOfLayers(); l++) {
+            Layer layer = brain.getLayer(l);
+            if (layer.getInputSize() != BRAIN_LAYER_SIZES[l] || layer.getOutputSize() != BRAIN_LAYER_SIZES[l + 1]
+                    || layer.usesTanH() != (l == brain.getNumberOfLayers() - 1))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the inputs for the neural network to a given buffer.
+     *
+     * @param buffer the array to write the inputs to
+     * @param offset the index of the first input in the buffer
+     */
+    public void writeBrainInput(double[] buffer, int offset) {
+        buffer[offset] = bodies.energy[slot] / 100.0; // The current fitness
+        buffer[offset + 1] = bodies.x[slot] / world.getWidth(); // The horizontal position in the world
+        buffer[offset + 2] = bodies.y[slot] / world.getHeight(); // The vertical position in the world
+        buffer[offset + 3] = bodies.vx[slot]; // The horizontal speed
+        buffer[offset + 4] = bodies.vy[slot]; // The vertical speed
+        buffer[offset + 5] = Rot.normalized(bodies.angularVelocity[slot]); // The rotational speed
+        buffer[offset + 6] = eye.getDetectedFoodRotation().normalized(); // The direction to the closest food object
+        buffer[offset + 7] = 10_000.0 / Math.max(1.0, eye.getDetectedFoodSqDistance()); // The distance to the closest food object (finite even if both positions coincide)
+        buffer[offset + 8] = eye.getDetectedEnemyRotation().normalized(); // The direction to the closest other individual
+        buffer[offset + 9] = 10_000.0 / Math.max(1.0, eye.getDetectedEnemySqDistance()); // The distance to the closest other individual
+        buffer[offset + 10] = eye.getDetectedEnemyHue(); // The hue of the color of the closest other individual
+        buffer[offset + 11] = eye.getDetectedEnemySaturation(); // The saturation of the color of the closest other individual
+        System.arraycopy(memory, 0, buffer, offset + 12, memory.length); // Memory slots
+    }
+
+    /**
+     * Reads the outputs of the neural network from a given buffer and saves the resulting actions.
+     *
+     * @param buffer the array to read the outputs from
+     * @param offset the index of the first output in the buffer
      */
-    private void tickBrain() {
-        double[] inputs = {
-                energy / 100.0, // The current fitness
-                pos.x() / simulation.getWidth(), // The horizontal position on screen
-                pos.y() / simulation.getHeight(), // The vertical position on screen
-                speed.x(), // The horizontal speed
-                speed.y(), // The vertical speed
-                rotSpeed.normalized(), // The rotational speed
-                eye.getDetectedFoodRotation().normalized(), // The direction to the closest food object
-                10_000.0 / eye.getDetectedFoodSqDistance(), // The distance to the closest food object
-                eye.getDetectedEnemyRotation().normalized(), // The direction to the closest other individual
-                10_000.0 / eye.getDetectedEnemySqDistance(), // The distance to the closest other individual
-                eye.getDetectedEnemyHue(), // The hue of the color of the closest other individual
-                eye.getDetectedEnemySaturation(), // The saturation of the color of the closest other individual
-                memory[0], // Memory slot 0
-                memory[1], // Memory slot 1
-                memory[2], // Memory slot 2
-                memory[3], // Memory slot 3
-                memory[4] // Memory slot 4
-        };
-
-        // Compute neural network output
-        double[] output = brain.feedForward(inputs);
-
-        // Save memory output
-        memory = Arrays.copyOfRange(output, output.length - memory.length, output.length);
+    public void readBrainOutput(double[] buffer, int offset) {
+        // Save memory output (the last outputs)
+        System.arraycopy(buffer, offset + 4, memory, 0, memory.length);
 
         // Save acceleration
-        acc = Vec.unit(rot).scale(output[0] * MAX_ACC);
-        rotAcc = new Rot(output[1] * MAX_ROT_ACC);
+        double acc = buffer[offset] * MAX_ACC;
+        bodies.ax[slot] = Math.cos(bodies.angle[slot]) * acc;
+        bodies.ay[slot] = Math.sin(bodies.angle[slot]) * acc;
+        bodies.angularAcc[slot] = buffer[offset + 1] * MAX_ROT_ACC;
 
         // Save preferences
-        wantToEat = output[2] > 0.0;
-        wantToReproduce = output[3] > 0.0;
+        wantToEat = buffer[offset + 2] > 0.0;
+        wantToReproduce = buffer[offset + 3] > 0.0;
+    }
+
+    /**
+     * Collects the inputs for the neural network and computes its outputs.
+     */
+    private void tickBrain() {
+        if (brainInput == null) {
+            brainInput = new double[brain.getInputSize()];
+            brainOutput = new double[brain.getOutputSize()];
+            brainHidden = brain.createHiddenOutputs();
+        }
+
+        writeBrainInput(brainInput, 0);
+        brain.feedForward(brainInput, brainOutput, brainHidden);
+        readBrainOutput(brainOutput, 0);
     }
 
     /**
      * Handles collisions with the simulation boundary.
+     * The extent of the bounds along each axis is computed analytically, without creating the bounds.
      */
     private void tickWallCollisions() {
-        int w = simulation.getWidth(), h = simulation.getHeight();
-
-        if (speed.x() < 0 && getBounds().intersects(-100, 0, 100, h)) {
-            pos = new Vec(getBounds().getBounds2D().getWidth() / 2.0, pos.y());
-            speed = new Vec(-speed.x(), speed.y()).scale(COLLISION_DAMPING);
-        } else if (speed.x() > 0 && getBounds().intersects(w, 0, 100, h)) {
-            pos = new Vec(w - getBounds().getBounds2D().getWidth() / 2.0, pos.y());
-            speed = new Vec(-speed.x(), speed.y()).scale(COLLISION_DAMPING);
+        int w = world.getWidth(), h = world.getHeight();
+        double x = bodies.x[slot], y = bodies.y[slot];
+        double vx = bodies.vx[slot], vy = bodies.vy[slot];
+        double halfWidth = Math.abs(Math.cos(bodies.angle[slot])) * halfTorsoLength + radius;
+        double halfHeight = Math.abs(Math.sin(bodies.angle[slot])) * halfTorsoLength + radius;
+
+        if (vx < 0 && x - halfWidth <= 0) {
+            bodies.x[slot] = halfWidth;
+            bodies.vx[slot] = -vx * COLLISION_DAMPING;
+            bodies.vy[slot] = vy *= COLLISION_DAMPING;
+        } else if (vx > 0 && x + halfWidth >= w) {
+            bodies.x[slot] = w - halfWidth;
+            bodies.vx[slot] = -vx * COLLISION_DAMPING;
+            bodies.vy[slot] = vy *= COLLISION_DAMPING;
         }
 
-        if (speed.y() < 0 && getBounds().intersects(0, -100, w, 100)) {
-            pos = new Vec(pos.x(), getBounds().getBounds2D().getHeight() / 2.0);
-            speed = new Vec(speed.x(), -speed.y()).scale(COLLISION_DAMPING);
-        } else if (speed.y() > 0 && getBounds().intersects(0, h, w, 100)) {
-            pos = new Vec(pos.x(), h - getBounds().getBounds2D().getHeight() / 2.0);
-            speed = new Vec(speed.x(), -speed.y()).scale(COLLISION_DAMPING);
+        if (vy < 0 && y - halfHeight <= 0) {
+            bodies.y[slot] = halfHeight;
+            bodies.vx[slot] *= COLLISION_DAMPING;
+            bodies.vy[slot] = -vy * COLLISION_DAMPING;
+        } else if (vy > 0 && y + halfHeight >= h) {
+            bodies.y[slot] = h - halfHeight;
+            bodies.vx[slot] *= COLLISION_DAMPING;
+            bodies.vy[slot] = -vy * COLLISION_DAMPING;
         }
     }
 
     /**
-     * Handles collisions with {@link Food} objects.
+     * Checks whether this individual touches a {@link Food} object.
+     *
+     * @param food the food object to check
+     * @return true iff the bounds of this individual and the food object intersect
      */
-    private void tickFoodCollisions() {
-        simulation.getWorld().getFoodObjects().stream(false)
-                .filter(food -> getBounds().intersects(food.getBounds().getBounds2D()))
-                .forEach(food -> {
-                    simulation.getWorld().getFoodObjects().remove(food);
-                    energy += 100.0; // Fitness increases after eating food
-                });
+    public boolean touches(Food food) {
+        return getBounds().intersects(food.getBounds());
     }
 
     /**
-     * Handles collisions with other individuals.
+     * Checks whether this individual touches another individual.
+     *
+     * @param other the other individual to check
+     * @return true iff the other individual is not this one and the bounds of both individuals intersect
      */
-    private void tickEnemyCollision() {
-        eating = false; // First assume there is no collision with another individual
+    public boolean touches(Individual other) {
+        double dx = other.getX() - getX(), dy = other.getY() - getY();
+        return other != this && dx * dx + dy * dy < Math.pow(getReach() + other.getReach(), 2.0)
+                && getBounds().intersects(other.getBounds());
+    }
 
-        if (wantToEat)
-            simulation.getWorld().getIndividuals().stream(true)
-                    .filter(ind -> ind != this && ind.getPos().sub(pos).squareLength() < Math.pow(halfTorsoLength + radius + ind.halfTorsoLength + ind.radius, 2.0)
-                            && getBounds().intersects(ind.getBounds().getBounds2D())
-                            && ind.getBounds().intersects(getBounds().getBounds2D()))
-                    .findAny().ifPresent(target -> {
-                        double rate = Math.min(EAT_RATE * energy, target.energy); // Cannot eat more than the remaining fitness
-                        target.energy -= rate; // The target individual looses energy
-                        energy += rate * EAT_EFFICIENCY; // This individual gains energy
-                        eating = true;
-                        target.beingEaten = true;
-                    });
+    @Override
+    public void tick() {
+        sense();
+        tickBrain();
+        move();
+        detectContacts();
+        resolveContacts();
+        if (metabolize() && world.getIndividuals().size() < world.getMinPopulationSize())
+            world.addRandomIndividual();
     }
 
-    private void tickCollisions() {
+    /**
+     * Ages this individual and gathers information about its surroundings.
+     * This is the first part of a tick, before the brain is evaluated.
+     */
+    public void sense() {
+        beingEaten = false; // Set again by predators while resolving contacts
+        bodies.age[slot]++;
+        eye.tick();
+    }
+
+    /**
+     * Moves this individual according to its last brain output and handles collisions with the world boundary.
+     * Only changes the state of this individual.
+     * The {@link World} integrates the motion of all individuals at once and only calls {@link #collideWithWalls()}.
+     */
+    public void move() {
+        // Move and apply friction
+        bodies.integrate(slot, slot + 1, TRANSLATIONAL_FRICTION, ROTATIONAL_FRICTION);
+
+        collideWithWalls();
+    }
+
+    /**
+     * Handles collisions with the world boundary after the motion of this individual has been integrated.
+     * Only changes the state of this individual.
+     */
+    public void collideWithWalls() {
         tickWallCollisions();
-        tickFoodCollisions();
-        tickEnemyCollision();
+        bounds = null; // Bounds are recreated at the new position on demand
+
+        if (Double.isNaN(bodies.x[slot]) || Double.isNaN(bodies.y[slot]))
+            throw new IllegalStateException("Position of individual is NaN");
     }
 
-    @Override
-    public void tick() {
-        age++;
-        eye.tick();
-        tickBrain();
+    /**
+     * Finds the {@link Food} objects and the other individual this individual is touching after moving
+     * by testing all objects of the world.
+     * The {@link World} finds the contacts of all individuals at once with a {@link de.javaabc.aipopulation.world.CollisionDetector} instead.
+     */
+    public void detectContacts() {
+        setContacts(world.getFoodObjects().stream(false).filter(this::touches).toList(),
+                world.getIndividuals().stream(false).filter(this::touches).findFirst().orElse(null));
+    }
 
-        // Move
-        super.tick();
+    /**
+     * Sets the contacts of this individual for the current tick, which are resolved by {@link #resolveContacts()}.
+     *
+     * @param foodContacts the {@link Food} objects this individual touches
+     * @param touched      the first other individual (in population order) this individual touches, or null
+     */
+    public void setContacts(List<Food> foodContacts, Individual touched) {
+        this.foodContacts = foodContacts;
+        preyTarget = wantToEat ? touched : null;
+    }
+
+    /**
+     * Eats the touched {@link Food} objects that have not been eaten by someone else before,
+     * and steals energy from the touched individual if this individual wants to eat it.
+     * <p>
+     * This changes the state of other objects, so it must be called for one individual after another,
+     * in a fixed order, which makes the outcome of conflicts deterministic:
+     * food goes to the first individual touching it, and the energy of a prey is drained by its predators in order.
+     */
+    public void resolveContacts() {
+        for (Food food : foodContacts) {
+            if (food.tryEat()) {
+                world.getFoodObjects().remove(food);
+                bodies.energy[slot] += 100.0; // Fitness increases after eating food
+            }
+        }
 
-        // Friction
-        speed = speed.scale(TRANSLATIONAL_FRICTION);
-        rotSpeed = rotSpeed.scale(ROTATIONAL_FRICTION);
+        eating = preyTarget != null;
+        if (eating) {
+            double[] energy = bodies.energy;
+            double rate = Math.min(EAT_RATE * energy[slot], energy[preyTarget.slot]); // Cannot eat more than the remaining fitness
+            energy[preyTarget.slot] -= rate; // The target individual looses energy
+            energy[slot] += rate * EAT_EFFICIENCY; // This individual gains energy
+            preyTarget.beingEaten = true;
+        }
 
-        // Collisions
-        tickCollisions();
+        foodContacts = List.of();
+        preyTarget = null;
+    }
+
+    /**
+     * Deducts the energy cost of this tick and removes this individual from the world if its fitness is zero.
+     *
+     * @return true iff this individual has died
+     */
+    public boolean metabolize() {
+        double[] energy = bodies.energy;
+        double vx = bodies.vx[slot], vy = bodies.vy[slot];
 
         // Fitness decreases at each tick
-        energy -= MOVING_COST * speed.squareLength()
-                + ROTATION_COST * Math.pow(rotSpeed.normalized(), 2.0)
+        energy[slot] -= MOVING_COST * (vx * vx + vy * vy)
+                + ROTATION_COST * Math.pow(Rot.normalized(bodies.angularVelocity[slot]), 2.0)
                 + GENERAL_COST;
 
-        if (energy < 0) {
+        if (energy[slot] < 0) {
             // Die if fitness is zero
-            energy = 0.0;
+            energy[slot] = 0.0;
             die();
-            if (simulation.getWorld().getIndividuals().size() < simulation.getWorld().getMinPopulationSize())
-                simulation.getWorld().addRandomIndividual();
-        } else if (energy > MAX_ENERGY) {
+            return true;
+        } else if (energy[slot] > MAX_ENERGY) {
             // Fitness cannot be larger than a certain value
-            energy = MAX_ENERGY;
+            energy[slot] = MAX_ENERGY;
         }
 
-        if (pos.isNaN())
-            throw new IllegalStateException("Position of individual is NaN");
+        return false;
     }
 
     @Override
-    public Shape makeBounds() {
-        // The front and back circle of this individual
-        var firstCircle = new Circle(pos.subX(halfTorsoLength), radius);
-        var secondCircle = new Circle(pos.addX(halfTorsoLength), radius);
-
-        // The rectangle combining the circles
-        var rect = new Rect(pos.sub(halfTorsoLength, radius), new Vec(halfTorsoLength * 2.0, radius * 2.0));
-
-        // Combine the two circles with the rectangle in the middle
-        Area area = unionConvex(firstCircle, secondCircle, rect);
-
-        // Rotate around center
-        var transform = new AffineTransform();
-        transform.rotate(rot.radians(), rect.getCenterX(), rect.getCenterY());
-        return area.createTransformedArea(transform);
+    protected void writeToStore() {
+        super.writeToStore();
+        bodies.energy[slot] = energy;
+        bodies.age[slot] = age;
     }
 
-
     @Override
-    public void render(Graphics2D g) {
-        // The saturation depends on the fitness of this individual
-        float[] hsv = RenderUtils.colorToHsv(color);
-        hsv[1] = (float) Math.min(1.0, energy / 100.0) * 0.75f + 0.25f;
-        Color renderColor = RenderUtils.hsvToColor(hsv);
-
-        g.setColor(renderColor);
-        g.fill(getBounds());
+    protected void readFromStore() {
+        super.readFromStore();
+        energy = bodies.energy[slot];
+        age = bodies.age[slot];
+    }
 
-        // Border if eating or being eaten
-        if (eating || beingEaten) {
-            g.setColor(beingEaten ? Color.RED : Color.GREEN);
-            g.setStroke(new BasicStroke(2f));
-            g.draw(getBounds());
-        }
-        beingEaten = false;
+    @Override
+    public Capsule makeBounds() {
+        // The front and back circle of this individual, combined by the torso in between
+        return Capsule.around(getPos(), getRot(), halfTorsoLength, radius);
+    }
 
-        // Optionally render number of generation on each individual
-        if (simulation.showGeneration()) {
-            g.setColor(Color.BLACK);
-            g.setFont(g.getFont().deriveFont(Font.PLAIN, 14f));
-            RenderUtils.drawCenteredString(g, String.format("%d", getGeneration()), pos);
-        }
+    @Override
+    public Capsule getBounds() {
+        return (Capsule) super.getBounds();
     }
 
     /**
      * Adds a zero mean gaussian noise to the hue value of this individual's color.
      *
+     * @param random the pseudorandom number generator for the noise
      * @return a new mutated {@link Color} instance
      */
-    private Color mutateColor() {
+    private Color mutateColor(RandomGenerator random) {
         float[] hsv = RenderUtils.colorToHsv(color);
-        hsv[0] += simulation.getWorld().getRandom().nextGaussian(0.0, 0.01);
+        hsv[0] += random.nextGaussian(0.0, 0.01);
         hsv[0] %= 1.0;
         return RenderUtils.hsvToColor(hsv);
     }
@@ -414,13 +601,13 @@ public class Individual extends MovableObject implements Comparable<Individual>,
     /**
      * Adds a zero mean gaussian noise to the mutation factor itself.
      *
+     * @param random the pseudorandom number generator for the noise
      * @return a new, potentially slightly modified value for the mutation factor
      */
-    private double mutateMutationFactor() {
-        var rand = simulation.getWorld().getRandom();
+    private double mutateMutationFactor(RandomGenerator random) {
         double res;
         do {
-            res = mutationFactor + rand.nextGaussian(0.0, mutationFactor);
+            res = mutationFactor + random.nextGaussian(0.0, mutationFactor);
         } while (res < MIN_MUTATION_FACTOR);
         return res;
     }
@@ -430,9 +617,10 @@ public class Individual extends MovableObject implements Comparable<Individual>,
      *
      * @param v      the vector to add random noise to
      * @param stddev the standard deviation
+     * @param random the pseudorandom number generator for the noise
      * @return a new vector
      */
-    private Vec addRandom(Vec v, double stddev) {
+    private static Vec addRandom(Vec v, double stddev, RandomGenerator random) {
         return v.add(random.nextGaussian(0.0, stddev), random.nextGaussian(0.0, stddev));
     }
 
@@ -441,68 +629,167 @@ public class Individual extends MovableObject implements Comparable<Individual>,
      *
      * @param r      the angle to add random noise to
      * @param stddev the standard deviation
+     * @param random the pseudorandom number generator for the noise
      * @return a new {@link Rot} instance
      */
-    private Rot addRandom(Rot r, double stddev) {
+    private static Rot addRandom(Rot r, double stddev, RandomGenerator random) {
         return r.add(new Rot(random.nextGaussian(0.0, stddev)));
     }
 
     /**
      * Creates new individuals with mutated properties.
+     * The {@link World} reproduces all individuals of a tick at once with a {@link BirthPipeline} instead.
      *
      * @param numberOfChildren the number of child individuals to produce
      * @param force            an option to overwrite the potential preference of this individual not to reproduce
      */
     public void reproduce(int numberOfChildren, boolean force) {
-        if (!force && !wantToReproduce)
-            return;
-
-        // Fitness splits between parent and children
-        energy /= (numberOfChildren + 1);
-
-        Set<Individual> mutations = new HashSet<>(numberOfChildren);
-        for (int i = 0; i < numberOfChildren; i++) {
-            var ind = new Individual(simulation,
-                    addRandom(pos, halfTorsoLength), addRandom(speed, 0.1), // Slightly change position and speed
-                    addRandom(rot, 0.1), addRandom(rotSpeed, 0.05), // Slightly change angle and rotational speed
-                    mutateColor(), // Slightly change color
-                    halfTorsoLength, energy, radius,
-                    brain.mutate(mutationFactor), // IMPORTANT: Mutate the brain weights
-                    mutateMutationFactor(), // Mutate the mutation factor itself
-                    memory, generation + 1L);
-            mutations.add(ind);
-        }
+        var births = new BirthPipeline(world);
+        births.request(this, numberOfChildren, force);
+        births.commit();
+    }
+
+    /**
+     * Splits the fitness of this individual between itself and its children.
+     *
+     * @param numberOfChildren the number of child individuals to produce
+     * @return the remaining fitness of this individual, which is also the fitness of each child
+     */
+    double shareEnergy(int numberOfChildren) {
+        bodies.energy[slot] /= (numberOfChildren + 1);
+        return bodies.energy[slot];
+    }
 
-        // Add children to simulation
-        simulation.getWorld().getIndividuals().addAll(mutations);
+    /**
+     * @return a new independent stream of pseudorandom numbers, split off the stream of this individual
+     */
+    SplittableRandom splitRandom() {
+        return random.split();
     }
 
     /**
-     * Removes this individual from the simulation.
+     * Mutates the properties of this individual for a child.
+     * Only reads the state of this individual, so the children of all individuals can be mutated in parallel.
+     *
+     * @param random the own stream of pseudorandom numbers of the child
+     * @return the mutated properties
+     */
+    BirthPipeline.Offspring mutate(RandomGenerator random) {
+        return new BirthPipeline.Offspring(
+                addRandom(getPos(), halfTorsoLength, random), addRandom(getSpeed(), 0.1, random), // Slightly change position and speed
+                addRandom(getRot(), 0.1, random), addRandom(getRotSpeed(), 0.05, random), // Slightly change angle and rotational speed
+                mutateColor(random), // Slightly change color
+                brain.mutate(mutationFactor, random), // IMPORTANT: Mutate the brain weights
+                mutateMutationFactor(random)); // Mutate the mutation factor itself
+    }
+
+    /**
+     * Creates a child of this individual, without adding it to the world.
+     *
+     * @param offspring the mutated properties of the child
+     * @param energy    the fitness of the child
+     * @param random    the own stream of pseudorandom numbers of the child
+     * @return the new individual instance
+     */
+    Individual createChild(BirthPipeline.Offspring offspring, double energy, SplittableRandom random) {
+        return new Individual(world, offspring.pos(), offspring.speed(), offspring.rot(), offspring.rotSpeed(), offspring.color(),
+                halfTorsoLength, energy, radius, offspring.brain(), offspring.mutationFactor(), memory, generation + 1L, 0L, random);
+    }
+
+    /**
+     * Adds an identical copy of this individual to another world, e.g. to migrate between islands.
+     * The copy shares the (immutable) brain and keeps its position, restricted to the bounds of the other world.
+     *
+     * @param target the world to add the copy to
+     * @return the new individual instance
+     */
+    public Individual copyTo(World target) {
+        double reach = getReach();
+        Vec pos = getPos().restrict(reach, reach, target.getWidth() - reach, target.getHeight() - reach);
+        var copy = new Individual(target, pos, getSpeed(), getRot(), getRotSpeed(), getColor(), halfTorsoLength, getEnergy(),
+                radius, brain, mutationFactor, memory, generation, getAge());
+        target.getIndividuals().add(copy);
+        return copy;
+    }
+
+    /**
+     * Removes this individual from the world.
      */
     public void die() {
-        simulation.getWorld().getIndividuals().remove(this);
+        world.getIndividuals().remove(this);
+    }
+
+    /**
+     * @return the maximum distance between the position of this individual and any point of its bounds
+     */
+    public double getReach() {
+        return halfTorsoLength + radius;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public double getHalfTorsoLength() {
+        return halfTorsoLength;
+    }
+
+    public double getMutationFactor() {
+        return mutationFactor;
+    }
+
+    public boolean wantsToReproduce() {
+        return wantToReproduce;
+    }
+
+    public boolean isEating() {
+        return eating;
+    }
+
+    public boolean isBeingEaten() {
+        return beingEaten;
+    }
+
+    /**
+     * @return a copy of the memory values of this individual
+     */
+    public double[] getMemory() {
+        return memory.clone();
     }
 
     public double getEnergy() {
-        return energy;
+        var bodies = this.bodies; // This individual may be released concurrently
+        return bodies == null ? energy : bodies.energy[slot];
     }
 
     public long getGeneration() {
         return generation;
     }
 
-    public void setSimulation(Simulation simulation) {
-        this.simulation = simulation;
-        eye.setSimulation(simulation);
+    public NeuralNetwork getBrain() {
+        return brain;
+    }
+
+    /**
+     * @return the heritable properties of this individual
+     */
+    public Genome getGenome() {
+        return new Genome(brain, mutationFactor, getColor(), generation);
+    }
+
+    public void setWorld(World world) {
+        this.world = world;
+        eye.setWorld(world);
+        bind(world.getBodies());
     }
 
     @Override
     public int compareTo(Individual o) {
-        return Double.compare(energy, o.energy);
+        return Double.compare(getEnergy(), o.getEnergy());
     }
 
     public long getAge() {
-        return age;
+        var bodies = this.bodies;
+        return bodies == null ? age : bodies.age[slot];
     }
 }
@@ -5,39 +5,54 @@ import de.javaabc.aipopulation.geom.Vec;
 import de.javaabc.aipopulation.util.Tickable;
 
 import java.awt.*;
+import java.io.Serial;
 import java.io.Serializable;
 
 /**
  * A {@link SimulationObject} that can move.
+ * <p>
+ * While bound to a {@link BodyStore}, this object is only a handle to one slot of the store,
+ * which holds the current physical state.
+ * The fields of this class only hold the state while the object is not bound, e.g. when being serialized.
  *
  * @author Timo Friedl
  */
 public abstract class MovableObject extends SimulationObject implements Tickable, Serializable {
     /**
-     * the translational speed of this object in px / tick
+     * the translational speed of this object in px / tick, while not bound
      */
     protected Vec speed;
 
     /**
-     * the translational acceleration of this object in px / tick^2
+     * the translational acceleration of this object in px / tick^2, while not bound
      */
     protected Vec acc;
 
     /**
-     * the angle of this object in radians
+     * the angle of this object in radians, while not bound
      */
     protected Rot rot;
 
     /**
-     * the angular velocity of this object in radians / tick
+     * the angular velocity of this object in radians / tick, while not bound
      */
     protected Rot rotSpeed;
 
     /**
-     * the angular acceleration of this object in radians / tick^2
+     * the angular acceleration of this object in radians / tick^2, while not bound
      */
     protected Rot rotAcc;
 
+    /**
+     * the store that holds the physical state of this object, or null if not bound
+     */
+    protected transient BodyStore bodies;
+
+    /**
+     * the index of this object's slot in {@link #bodies}, only valid while bound
+     */
+    protected transient int slot;
+
     /**
      * Creates a new movable object.
      *
@@ -56,24 +71,126 @@ public abstract class MovableObject extends SimulationObject implements Tickable
         this.rotAcc = Rot.ZERO;
     }
 
+    /**
+     * Moves the state of this object into a slot of a given store.
+     * If this object is already bound to another store, it is released from there first.
+     * Must only be called by the thread that ticks the world of the store, or before that world ticks,
+     * since the store and the slot are plain fields.
+     *
+     * @param bodies the store to hold the physical state of this object
+     */
+    public void bind(BodyStore bodies) {
+        if (this.bodies == bodies)
+            return;
+
+        if (this.bodies != null)
+            release();
+
+        slot = bodies.allocate();
+        this.bodies = bodies;
+        writeToStore();
+    }
+
+    /**
+     * Copies the state of this object back from its store into the fields and frees its slot.
+     * Has no effect if this object is not bound.
+     */
+    public void release() {
+        if (bodies == null)
+            return;
+
+        readFromStore();
+        bodies.release(slot);
+        bodies = null;
+    }
+
+    /**
+     * Copies the state from the fields of this object to its slot.
+     */
+    protected void writeToStore() {
+        bodies.x[slot] = pos.x();
+        bodies.y[slot] = pos.y();
+        bodies.vx[slot] = speed.x();
+        bodies.vy[slot] = speed.y();
+        bodies.ax[slot] = acc.x();
+        bodies.ay[slot] = acc.y();
+        bodies.angle[slot] = rot.radians();
+        bodies.angularVelocity[slot] = rotSpeed.radians();
+        bodies.angularAcc[slot] = rotAcc.radians();
+    }
+
+    /**
+     * Copies the state from the slot of this object to its fields.
+     */
+    protected void readFromStore() {
+        pos = new Vec(bodies.x[slot], bodies.y[slot]);
+        speed = new Vec(bodies.vx[slot], bodies.vy[slot]);
+        acc = new Vec(bodies.ax[slot], bodies.ay[slot]);
+        rot = new Rot(bodies.angle[slot]);
+        rotSpeed = new Rot(bodies.angularVelocity[slot]);
+        rotAcc = new Rot(bodies.angularAcc[slot]);
+    }
+
+    /**
+     * Makes sure the fields hold the current state before this object is serialized.
+     *
+     * @return this object
+     */
+    @Serial
+    protected Object writeReplace() {
+        if (bodies != null)
+            readFromStore();
+        return this;
+    }
+
     @Override
     public void tick() {
-        /* Note that this is not a physically accurate way of computing kinematics.
-           There are more numerically stable options. */
-
-        // Increment speed by acceleration
-        speed = speed.add(acc);
-        rotSpeed = rotSpeed.add(rotAcc);
+        if (bodies != null) {
+            bodies.integrate(slot, slot + 1, 1.0, 1.0);
+        } else {
+            // Increment speed by acceleration
+            speed = speed.add(acc);
+            rotSpeed = rotSpeed.add(rotAcc);
 
-        // Increment position by speed
-        pos = pos.add(speed);
-        rot = rot.add(rotSpeed);
+            // Increment position by speed
+            pos = pos.add(speed);
+            rot = rot.add(rotSpeed);
+        }
 
         // Create bounds of this object
         bounds = makeBounds();
     }
 
+    @Override
+    public Vec getPos() {
+        var bodies = this.bodies; // The object may be released concurrently
+        return bodies == null ? pos : new Vec(bodies.x[slot], bodies.y[slot]);
+    }
+
+    @Override
+    public double getX() {
+        var bodies = this.bodies;
+        return bodies == null ? pos.x() : bodies.x[slot];
+    }
+
+    @Override
+    public double getY() {
+        var bodies = this.bodies;
+        return bodies == null ? pos.y() : bodies.y[slot];
+    }
+
+    public Vec getSpeed() {
+        var bodies = this.bodies;
+        return bodies == null ? speed : new Vec(bodies.vx[slot], bodies.vy[slot]);
+    }
+
     public Rot getRot() {
-        return rot;
+        var bodies = this.bodies;
+        return bodies == null ? rot : new Rot(bodies.angle[slot]);
+    }
+
+    public Rot getRotSpeed() {
+        var bodies = this.bodies;
+        return bodies == null ? rotSpeed : new Rot(bodies.angularVelocity[slot]);
     }
 }
@@ -2,7 +2,7 @@ package de.javaabc.aipopulation.objects;
 
 import de.javaabc.aipopulation.geom.Vec;
 import de.javaabc.aipopulation.util.Renderable;
-import de.javaabc.aipopulation.world.ThreadSafeContainer;
+import de.javaabc.aipopulation.world.SnapshotContainer;
 
 import java.awt.*;
 import java.io.Serializable;
@@ -35,17 +35,18 @@ public abstract class SimulationObject implements Renderable, Serializable {
      * @return a new vector instance
      */
     public Vec vectorTo(SimulationObject other) {
-        return other.pos.sub(pos);
+        return other.getPos().sub(getPos());
     }
 
     /**
-     * Searches for the closest {@link SimulationObject} of a given {@link ThreadSafeContainer}.
+     * Searches for the closest {@link SimulationObject} of a given {@link SnapshotContainer}.
      *
      * @param objects a collection of {@link SimulationObject}s to search through
      * @param <T>     the type of objects to search through
      * @return an optional containing the closest of the given objects, or an empty optional if there is no other object
      */
-    public <T extends SimulationObject> Optional<T> findClosest(ThreadSafeContainer<T> objects) {
+    public <T extends SimulationObject> Optional<T> findClosest(SnapshotContainer<T> objects) {
+        Vec pos = getPos();
         return objects.stream(false)
                 .filter(obj -> obj != this)
                 .map(obj -> Map.entry(obj, obj.getPos().sub(pos).squareLength()))
@@ -54,13 +55,23 @@ public abstract class SimulationObject implements Renderable, Serializable {
     }
 
     public Shape getBounds() {
-        return bounds == null ? makeBounds() : bounds;
+        if (bounds == null)
+            bounds = makeBounds();
+        return bounds;
     }
 
     public Vec getPos() {
         return pos;
     }
 
+    public double getX() {
+        return pos.x();
+    }
+
+    public double getY() {
+        return pos.y();
+    }
+
     public Color getColor() {
         return color;
 
@@ -0,0 +1,133 @@
+package de.javaabc.aipopulation.render;
+
+/**
+ * A camera that pans and zooms over a world, which may be many times larger than the screen.
+ * <p>
+ * The zoom is one of discrete levels, each {@link #ZOOM_STEP} times the previous one, where level 0 shows one world px per screen px.
+ * Discrete levels keep the number of different sprite and font sizes that are cached for rendering small.
+ * The camera is moved by the input thread and read by the rendering thread, so its state is one immutable {@link Viewport}.
+ *
+ * @author Timo Friedl
+ */
+public class Camera {
+    /**
+     * the zoom factor between two zoom levels
+     */
+    private static final double ZOOM_STEP = Math.pow(2.0, 0.25);
+
+    /**
+     * the number of zoom levels below the one that fits the whole world
+     */
+    private static final int ZOOM_OUT_LEVELS = 4;
+
+    /**
+     * the maximum zoom level, i.e. 8 screen px per world px
+     */
+    private static final int MAX_ZOOM_LEVEL = 12;
+
+    /**
+     * the size of the world, measured in px
+     */
+    private double worldWidth, worldHeight;
+
+    /**
+     * the current zoom level
+     */
+    private int zoomLevel;
+
+    /**
+     * the minimum zoom level, i.e. {@link #ZOOM_OUT_LEVELS} below the one that fits the whole world
+     */
+    private int minZoomLevel;
+
+    /**
+     * the currently visible part of the world
+     */
+    private volatile Viewport viewport;
+
+    /**
+     * Creates a new camera that shows a whole world.
+     *
+     * @param worldWidth  the width of the world, measured in px
+     * @param worldHeight the height of the world, measured in px
+     * @param width       the width of the screen area, measured in screen px
+     * @param height      the height of the screen area, measured in screen px
+     */
+    public Camera(double worldWidth, double worldHeight, int width, int height) {
+        fit(worldWidth, worldHeight, width, height);
+    }
+
+    /**
+     * Shows a whole world at the largest zoom level at which it fits the screen area, centered.
+     *
+     * @param worldWidth  the width of the world, measured in px
+     * @param worldHeight the height of the world, measured in px
+     * @param width       the width of the screen area, measured in screen px
+     * @param height      the height of the screen area, measured in screen px
+     */
+    public synchronized void fit(double worldWidth, double worldHeight, int width, int height) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+
+        // Round down, so the whole world is visible (and a world of screen size is shown at exactly one px per px)
+        double fitZoom = Math.min(width / worldWidth, height / worldHeight);
+        zoomLevel = Math.min(MAX_ZOOM_LEVEL, (int) Math.floor(Math.log(fitZoom) / Math.log(ZOOM_STEP) + 1e-9));
+        minZoomLevel = zoomLevel - ZOOM_OUT_LEVELS;
+        viewport = Viewport.centered(worldWidth / 2.0, worldHeight / 2.0, zoomOf(zoomLevel), width, height);
+    }
+
+    /**
+     * Moves the camera by a distance on screen, e.g. the distance the mouse was dragged.
+     * The center of the screen never leaves the world.
+     *
+     * @param dx the horizontal distance, measured in screen px
+     * @param dy the vertical distance, measured in screen px
+     */
+    public synchronized void pan(double dx, double dy) {
+        Viewport v = viewport;
+        moveTo(v.centerX() - dx / v.zoom(), v.centerY() - dy / v.zoom(), v.zoom());
+    }
+
+    /**
+     * Zooms in or out by a number of levels, so the world position at a given screen position stays where it is.
+     *
+     * @param levels  the number of levels to zoom in, or to zoom out if negative
+     * @param screenX the x-coordinate to zoom around, measured in screen px
+     * @param screenY the y-coordinate to zoom around, measured in screen px
+     */
+    public synchronized void zoom(int levels, double screenX, double screenY) {
+        int level = Math.max(minZoomLevel, Math.min(MAX_ZOOM_LEVEL, zoomLevel + levels));
+        if (level == zoomLevel)
+            return;
+
+        Viewport v = viewport;
+        double zoom = zoomOf(level);
+        double anchorX = v.toWorldX(screenX), anchorY = v.toWorldY(screenY);
+        zoomLevel = level;
+        moveTo(anchorX + (v.width() / 2.0 - screenX) / zoom, anchorY + (v.height() / 2.0 - screenY) / zoom, zoom);
+    }
+
+    /**
+     * Centers the camera at a world position, clamped to the world.
+     *
+     * @param centerX the world x-coordinate to center, measured in px
+     * @param centerY the world y-coordinate to center, measured in px
+     * @param zoom    the number of screen px per world px
+     */
+    private void moveTo(double centerX, double centerY, double zoom) {
+        Viewport v = viewport;
+        viewport = Viewport.centered(Math.max(0.0, Math.min(worldWidth, centerX)), Math.max(0.0, Math.min(worldHeight, centerY)),
+                zoom, v.width(), v.height());
+    }
+
+    /**
+     * @return the number of screen px per world px at a zoom level
+     */
+    private static double zoomOf(int level) {
+        return Math.pow(ZOOM_STEP, level);
+    }
+
+    public Viewport getViewport() {
+        return viewport;
+    }
+}
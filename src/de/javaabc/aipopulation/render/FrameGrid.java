@@ -0,0 +1,137 @@
+package de.javaabc.aipopulation.render;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid of square cells that buckets the objects of a {@link FrameSnapshot} by their position,
+ * so rendering only has to look at the objects in the cells that intersect the viewport.
+ * <p>
+ * Like the {@link de.javaabc.aipopulation.world.SpatialGrid} of a world, it is rebuilt from scratch (counting sort by cell),
+ * but it indexes the captured coordinate arrays of a frame instead of live objects, so it can be queried by the rendering thread.
+ * Objects outside the world bounds are assigned to the closest border cell.
+ *
+ * @author Timo Friedl
+ */
+class FrameGrid {
+    /**
+     * the side length of each cell, measured in px
+     */
+    private static final double CELL_SIZE = 128.0;
+
+    /**
+     * the number of cells in horizontal and vertical direction
+     */
+    private int columns, rows;
+
+    /**
+     * For each cell index, the index of its first object in {@link #indices}.
+     * The last entry is equal to the total number of objects.
+     */
+    private int[] cellStart = new int[1];
+
+    /**
+     * the indices of all objects in the frame, sorted by cell index (and by frame index within each cell)
+     */
+    private int[] indices = new int[0];
+
+    /**
+     * the cell index of each object, by frame index
+     */
+    private int[] cellOf = new int[0];
+
+    /**
+     * For each cell index, the index of its next free slot in {@link #indices}, reused by each rebuild.
+     */
+    private int[] cellFill = new int[0];
+
+    /**
+     * Replaces the content of this grid with the positions of the objects of a frame.
+     *
+     * @param x      the center x-coordinate of each object, measured in px
+     * @param y      the center y-coordinate of each object, measured in px
+     * @param count  the number of objects
+     * @param width  the width of the indexed area, measured in px
+     * @param height the height of the indexed area, measured in px
+     */
+    void rebuild(double[] x, double[] y, int count, double width, double height) {
+        columns = Math.max(1, (int) Math.ceil(width / CELL_SIZE));
+        rows = Math.max(1, (int) Math.ceil(height / CELL_SIZE));
+        int cells = columns * rows;
+
+        if (cellStart.length != cells + 1) {
+            cellStart = new int[cells + 1];
+            cellFill = new int[cells];
+        } else {
+            Arrays.fill(cellStart, 0);
+        }
+
+        if (indices.length < count) {
+            indices = new int[Math.max(16, count * 2)];
+            cellOf = new int[indices.length];
+        }
+
+        // Count objects per cell
+        for (int i = 0; i < count; i++) {
+            cellOf[i] = row(y[i]) * columns + column(x[i]);
+            cellStart[cellOf[i] + 1]++;
+        }
+
+        // Prefix sum over counts
+        for (int c = 0; c < cells; c++)
+            cellStart[c + 1] += cellStart[c];
+
+        // Scatter objects into their cell ranges
+        System.arraycopy(cellStart, 0, cellFill, 0, cells);
+        for (int i = 0; i < count; i++)
+            indices[cellFill[cellOf[i]]++] = i;
+    }
+
+    /**
+     * Collects the indices of all objects whose position lies within a given axis-aligned rectangle, in frame order.
+     *
+     * @param x    the center x-coordinate of each object, measured in px
+     * @param y    the center y-coordinate of each object, measured in px
+     * @param minX the minimum x-coordinate of the rectangle
+     * @param minY the minimum y-coordinate of the rectangle
+     * @param maxX the maximum x-coordinate of the rectangle
+     * @param maxY the maximum y-coordinate of the rectangle
+     * @param out  the array to store the indices in, at least as long as the number of objects
+     * @return the number of collected indices
+     */
+    int collect(double[] x, double[] y, double minX, double minY, double maxX, double maxY, int[] out) {
+        int fromColumn = column(minX), toColumn = column(maxX);
+        int fromRow = row(minY), toRow = row(maxY);
+
+        int count = 0;
+        for (int gy = fromRow; gy <= toRow; gy++) {
+            for (int gx = fromColumn; gx <= toColumn; gx++) {
+                int cell = gy * columns + gx;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = indices[k];
+                    if (x[i] >= minX && x[i] <= maxX && y[i] >= minY && y[i] <= maxY)
+                        out[count++] = i;
+                }
+            }
+        }
+
+        // Keep the drawing order of overlapping objects independent of the cells
+        Arrays.sort(out, 0, count);
+        return count;
+    }
+
+    /**
+     * @param x some x-coordinate, measured in px
+     * @return the column of the cell containing the given coordinate, clamped to the grid
+     */
+    private int column(double x) {
+        return Math.min(columns - 1, Math.max(0, (int) Math.floor(x / CELL_SIZE)));
+    }
+
+    /**
+     * @param y some y-coordinate, measured in px
+     * @return the row of the cell containing the given coordinate, clamped to the grid
+     */
+    private int row(double y) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor(y / CELL_SIZE)));
+    }
+}
@@ -0,0 +1,145 @@
+package de.javaabc.aipopulation.render;
+
+import de.javaabc.aipopulation.util.RateMeter;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the frames of a render thread to a target frame rate, independent of the tick rate,
+ * and adapts the {@link RenderQuality} to the time it takes to render a frame.
+ * <p>
+ * If the average frame time exceeds {@link #LOWER_THRESHOLD} of the frame budget, the quality is lowered;
+ * if it drops below {@link #RAISE_THRESHOLD}, it is raised again.
+ * After each switch, the quality is kept for {@link #COOLDOWN_FRAMES}, so it does not flicker between two levels.
+ * Only used by the rendering thread.
+ *
+ * @author Timo Friedl
+ */
+public class FramePacer {
+    /**
+     * the weight of the latest frame time in the exponential moving average
+     */
+    private static final double SMOOTHING = 0.1;
+
+    /**
+     * the fraction of the frame budget above which the quality is lowered
+     */
+    private static final double LOWER_THRESHOLD = 0.9;
+
+    /**
+     * the fraction of the frame budget below which the quality is raised
+     */
+    private static final double RAISE_THRESHOLD = 0.4;
+
+    /**
+     * the number of frames to keep the quality after switching it
+     */
+    private static final int COOLDOWN_FRAMES = 60;
+
+    /**
+     * the time between two frames, measured in ns
+     */
+    private final long frameNanos;
+
+    /**
+     * the start time of the next frame, measured in ns
+     */
+    private long nextFrame = System.nanoTime();
+
+    /**
+     * the exponential moving average of the frame times, measured in ns, or 0 if no frame has been rendered yet
+     */
+    private double averageFrameNanos;
+
+    /**
+     * the achieved number of frames per second
+     */
+    private final RateMeter frameRate = new RateMeter();
+
+    /**
+     * the current quality
+     */
+    private RenderQuality quality = RenderQuality.HIGH;
+
+    /**
+     * the number of frames until the quality may be switched again
+     */
+    private int cooldown = COOLDOWN_FRAMES;
+
+    /**
+     * Creates a new frame pacer.
+     *
+     * @param targetFps the number of frames per second to render
+     */
+    public FramePacer(int targetFps) {
+        if (targetFps <= 0)
+            throw new IllegalArgumentException("Target FPS must be positive, but got " + targetFps);
+        frameNanos = 1000L * 1000L * 1000L / targetFps;
+    }
+
+    /**
+     * Sleeps until the next frame is due.
+     * If the render thread fell behind by more than one frame, the missed frames are skipped instead of rendered in a burst.
+     *
+     * @throws InterruptedException if the render thread is interrupted while sleeping
+     */
+    public void awaitNextFrame() throws InterruptedException {
+        if (System.nanoTime() - nextFrame > frameNanos)
+            nextFrame = System.nanoTime();
+
+        long remaining;
+        while ((remaining = nextFrame - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted())
+                throw new InterruptedException();
+        }
+        nextFrame += frameNanos;
+    }
+
+    /**
+     * Records the time it took to render a frame and adapts the quality.
+     *
+     * @param nanos the time it took to render and show the frame, measured in ns
+     */
+    public void frameRendered(long nanos) {
+        frameRate.record(1L);
+        averageFrameNanos = averageFrameNanos == 0.0 ? nanos : averageFrameNanos + SMOOTHING * (nanos - averageFrameNanos);
+
+        if (cooldown > 0) {
+            cooldown--;
+            return;
+        }
+
+        RenderQuality adapted = averageFrameNanos > LOWER_THRESHOLD * frameNanos ? quality.lower()
+                : averageFrameNanos < RAISE_THRESHOLD * frameNanos ? quality.higher() : quality;
+        if (adapted != quality) {
+            quality = adapted;
+            cooldown = COOLDOWN_FRAMES;
+        }
+    }
+
+    public RenderQuality getQuality() {
+        return quality;
+    }
+
+    /**
+     * @return the exponential moving average of the frame times, measured in ns
+     */
+    public double getAverageFrameNanos() {
+        return averageFrameNanos;
+    }
+
+    /**
+     * @return the achieved number of frames per second
+     */
+    public double getFrameRate() {
+        return frameRate.getRate();
+    }
+
+    /**
+     * @return the time between two frames, measured in ns
+     */
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+}
@@ -0,0 +1,127 @@
+package de.javaabc.aipopulation.render;
+
+import de.javaabc.aipopulation.render.SpriteCache.Outline;
+
+import java.awt.*;
+
+/**
+ * Renders the objects of a {@link FrameSnapshot}, i.e. food and individuals, with pre-rendered sprites.
+ * <p>
+ * Only the objects that intersect the {@link Viewport} are drawn, and they are drawn in screen coordinates
+ * with sprites of their zoomed size, so no image has to be scaled.
+ *
+ * @author Timo Friedl
+ */
+public class FrameRenderer {
+    /**
+     * the color of food dots
+     */
+    private static final Color FOOD_COLOR = Color.DARK_GRAY;
+
+    /**
+     * the color outside the world bounds
+     */
+    private static final Color OUTSIDE_COLOR = new Color(0xe0, 0xe0, 0xe0);
+
+    /**
+     * the size of the generation labels at a zoom of 1, measured in pt
+     */
+    private static final float LABEL_SIZE = 14f;
+
+    /**
+     * the minimum size of the generation labels, below which they are not drawn since they are unreadable, measured in pt
+     */
+    private static final float MIN_LABEL_SIZE = 6f;
+
+    /**
+     * the maximum size of the generation labels, since Java 2D does not cache the glyphs of very large fonts, measured in pt
+     */
+    private static final float MAX_LABEL_SIZE = 28f;
+
+    /**
+     * the pre-rendered images of individuals and food dots
+     */
+    private final SpriteCache sprites = new SpriteCache();
+
+    /**
+     * the fonts and laid-out labels of generation numbers
+     */
+    private final TextCache text;
+
+    /**
+     * the indices of the visible individuals and food objects of the current frame
+     */
+    private int[] visibleIndividuals = new int[0], visibleFood = new int[0];
+
+    /**
+     * Creates a new frame renderer.
+     *
+     * @param text the fonts and laid-out labels to draw text with
+     */
+    public FrameRenderer(TextCache text) {
+        this.text = text;
+    }
+
+    /**
+     * Renders all objects of a frame that are visible in a viewport.
+     *
+     * @param g              the {@link Graphics2D} to draw on, in screen coordinates of the viewport
+     * @param frame          the frame to render
+     * @param viewport       the visible part of the world
+     * @param showGeneration a flag indicating that each individual should render its generation
+     */
+    public void render(Graphics2D g, FrameSnapshot frame, Viewport viewport, boolean showGeneration) {
+        double zoom = viewport.zoom();
+
+        // Grey out the area beyond the world bounds, if zoomed out that far
+        int left = (int) Math.round(viewport.toScreenX(0.0)), top = (int) Math.round(viewport.toScreenY(0.0));
+        int right = (int) Math.round(viewport.toScreenX(frame.getWidth())), bottom = (int) Math.round(viewport.toScreenY(frame.getHeight()));
+        if (left > 0 || top > 0 || right < viewport.width() || bottom < viewport.height()) {
+            g.setColor(OUTSIDE_COLOR);
+            g.fillRect(0, 0, viewport.width(), Math.max(0, top));
+            g.fillRect(0, bottom, viewport.width(), Math.max(0, viewport.height() - bottom));
+            g.fillRect(0, top, Math.max(0, left), bottom - top);
+            g.fillRect(right, top, Math.max(0, viewport.width() - right), bottom - top);
+        }
+
+        // Cull all objects outside the viewport
+        if (visibleFood.length < frame.getFoodCount())
+            visibleFood = new int[frame.getFoodCount() * 2];
+        if (visibleIndividuals.length < frame.getIndividualCount())
+            visibleIndividuals = new int[frame.getIndividualCount() * 2];
+        int foodCount = frame.collectFood(viewport, visibleFood);
+        int individualCount = frame.collectIndividuals(viewport, visibleIndividuals);
+
+        // Food
+        for (int k = 0; k < foodCount; k++) {
+            int i = visibleFood[k];
+            sprites.drawFood(g, viewport.toScreenX(frame.getFoodX(i)), viewport.toScreenY(frame.getFoodY(i)),
+                    frame.getFoodRadius(i) * zoom, FOOD_COLOR);
+        }
+
+        // Individuals, with a border if eating or being eaten
+        for (int k = 0; k < individualCount; k++) {
+            int i = visibleIndividuals[k];
+            Outline outline = frame.hasFlag(i, FrameSnapshot.BEING_EATEN) ? Outline.BEING_EATEN
+                    : frame.hasFlag(i, FrameSnapshot.EATING) ? Outline.EATING : Outline.NONE;
+            sprites.drawIndividual(g, viewport.toScreenX(frame.getX(i)), viewport.toScreenY(frame.getY(i)), frame.getAngle(i),
+                    frame.getHalfTorsoLength(i) * zoom, frame.getRadius(i) * zoom,
+                    frame.getHue(i), frame.getSaturation(i), frame.getBrightness(i), outline);
+        }
+
+        // Optionally render number of generation on each individual, if it is large enough to be read
+        float labelSize = (float) Math.min(MAX_LABEL_SIZE, LABEL_SIZE * zoom);
+        if (showGeneration && labelSize >= MIN_LABEL_SIZE) {
+            Font font = text.font(g.getFont(), Font.PLAIN, labelSize);
+            g.setColor(Color.BLACK);
+            for (int k = 0; k < individualCount; k++) {
+                int i = visibleIndividuals[k];
+                text.drawCentered(g, frame.getGeneration(i), font, viewport.toScreenX(frame.getX(i)), viewport.toScreenY(frame.getY(i)));
+            }
+        }
+    }
+
+    public SpriteCache getSprites() {
+        return sprites;
+    }
+}
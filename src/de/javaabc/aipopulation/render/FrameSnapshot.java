@@ -0,0 +1,349 @@
+package de.javaabc.aipopulation.render;
+
+import de.javaabc.aipopulation.objects.Food;
+import de.javaabc.aipopulation.objects.Individual;
+import de.javaabc.aipopulation.util.RenderUtils;
+import de.javaabc.aipopulation.world.PopulationStats;
+import de.javaabc.aipopulation.world.World;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Everything that is needed to render one frame of a {@link World}, captured between two ticks.
+ * <p>
+ * The state of each object is stored as one array per property, so capturing a frame only copies primitive values
+ * and rendering never touches the live world.
+ * A frame is filled by {@link #capture(World)} on the ticking thread and passed to the rendering thread
+ * by a {@link TripleBuffer}, which guarantees that it is not modified while being rendered.
+ * Individuals and food are indexed by a {@link FrameGrid} each, so the renderer can cull them to its {@link Viewport}.
+ *
+ * @author Timo Friedl
+ */
+public class FrameSnapshot {
+    /**
+     * the flag of an individual that is currently eating another one
+     */
+    public static final byte EATING = 1;
+
+    /**
+     * the flag of an individual that is currently being eaten
+     */
+    public static final byte BEING_EATEN = 2;
+
+    /**
+     * the size of the captured world, measured in px
+     */
+    private int width, height;
+
+    /**
+     * the number of ticks of the captured world
+     */
+    private long tick;
+
+    /**
+     * the number of captured individuals
+     */
+    private int individualCount;
+
+    /**
+     * the center position of each individual, measured in px
+     */
+    private double[] x = new double[0], y = new double[0];
+
+    /**
+     * the angle of each individual, measured in radians
+     */
+    private double[] angle = new double[0];
+
+    /**
+     * the half torso length and the radius of each individual, measured in px
+     */
+    private double[] halfTorsoLength = new double[0], radius = new double[0];
+
+    /**
+     * the render color of each individual as hue, saturation and brightness,
+     * where the saturation depends on the fitness of the individual
+     */
+    private float[] hue = new float[0], saturation = new float[0], brightness = new float[0];
+
+    /**
+     * the {@link #EATING} and {@link #BEING_EATEN} flags of each individual
+     */
+    private byte[] flags = new byte[0];
+
+    /**
+     * the fitness of each individual
+     */
+    private double[] energy = new double[0];
+
+    /**
+     * the age of each individual, measured in ticks
+     */
+    private long[] age = new long[0];
+
+    /**
+     * the generation of each individual
+     */
+    private long[] generation = new long[0];
+
+    /**
+     * the number of captured food objects
+     */
+    private int foodCount;
+
+    /**
+     * the center position of each food object, measured in px
+     */
+    private double[] foodX = new double[0], foodY = new double[0];
+
+    /**
+     * the radius of each food object, measured in px
+     */
+    private double[] foodRadius = new double[0];
+
+    /**
+     * the maximum distance of any point of an individual from its center, measured in px
+     */
+    private double maxIndividualExtent;
+
+    /**
+     * the maximum radius of all food objects, measured in px
+     */
+    private double maxFoodRadius;
+
+    /**
+     * the spatial index of the individuals and of the food objects
+     */
+    private final FrameGrid individualGrid = new FrameGrid(), foodGrid = new FrameGrid();
+
+    /**
+     * the index of the fittest, the oldest and the latest-generation individual, or -1 if there are no individuals
+     */
+    private int fittest = -1, oldest = -1, latest = -1;
+
+    /**
+     * the maximum generation of all individuals
+     */
+    private long maxGeneration;
+
+    /**
+     * Overwrites this frame with the current state of a world.
+     * Must be called between two ticks of the world, by the thread that ticks it.
+     *
+     * @param world the world to capture
+     */
+    public void capture(World world) {
+        width = world.getWidth();
+        height = world.getHeight();
+        tick = world.getTotalTicks();
+
+        // Individuals
+        List<Individual> population = world.getIndividuals().snapshot();
+        PopulationStats stats = world.getStats();
+        individualCount = population.size();
+        ensureIndividualCapacity(individualCount);
+        fittest = oldest = latest = -1;
+        maxGeneration = stats.maxGeneration();
+        maxIndividualExtent = 0.0;
+        for (int i = 0; i < individualCount; i++) {
+            Individual ind = population.get(i);
+            x[i] = ind.getX();
+            y[i] = ind.getY();
+            angle[i] = ind.getRot().radians();
+            halfTorsoLength[i] = ind.getHalfTorsoLength();
+            radius[i] = ind.getRadius();
+            energy[i] = ind.getEnergy();
+            age[i] = ind.getAge();
+            generation[i] = ind.getGeneration();
+            maxIndividualExtent = Math.max(maxIndividualExtent, halfTorsoLength[i] + radius[i]);
+            flags[i] = (byte) ((ind.isEating() ? EATING : 0) | (ind.isBeingEaten() ? BEING_EATEN : 0));
+
+            // The saturation depends on the fitness of the individual
+            float[] hsv = RenderUtils.colorToHsv(ind.getColor());
+            hue[i] = hsv[0];
+            saturation[i] = (float) Math.min(1.0, energy[i] / 100.0) * 0.75f + 0.25f;
+            brightness[i] = hsv[2];
+
+            if (ind == stats.fittest())
+                fittest = i;
+            if (ind == stats.oldest())
+                oldest = i;
+            if (ind == stats.latest())
+                latest = i;
+        }
+
+        // Food
+        List<Food> food = world.getFoodObjects().snapshot();
+        foodCount = food.size();
+        if (foodX.length < foodCount) {
+            int capacity = Math.max(16, foodCount * 2);
+            foodX = Arrays.copyOf(foodX, capacity);
+            foodY = Arrays.copyOf(foodY, capacity);
+            foodRadius = Arrays.copyOf(foodRadius, capacity);
+        }
+        maxFoodRadius = 0.0;
+        for (int i = 0; i < foodCount; i++) {
+            Food f = food.get(i);
+            foodX[i] = f.getX();
+            foodY[i] = f.getY();
+            foodRadius[i] = f.getRadius();
+            maxFoodRadius = Math.max(maxFoodRadius, foodRadius[i]);
+        }
+
+        // Spatial indices
+        individualGrid.rebuild(x, y, individualCount, width, height);
+        foodGrid.rebuild(foodX, foodY, foodCount, width, height);
+    }
+
+    /**
+     * Collects the indices of all individuals that intersect a viewport, in frame order.
+     *
+     * @param viewport the visible part of the world
+     * @param out      the array to store the indices in, at least as long as {@link #getIndividualCount()}
+     * @return the number of collected indices
+     */
+    public int collectIndividuals(Viewport viewport, int[] out) {
+        double margin = maxIndividualExtent;
+        return individualGrid.collect(x, y, viewport.x() - margin, viewport.y() - margin,
+                viewport.maxX() + margin, viewport.maxY() + margin, out);
+    }
+
+    /**
+     * Collects the indices of all food objects that intersect a viewport, in frame order.
+     *
+     * @param viewport the visible part of the world
+     * @param out      the array to store the indices in, at least as long as {@link #getFoodCount()}
+     * @return the number of collected indices
+     */
+    public int collectFood(Viewport viewport, int[] out) {
+        double margin = maxFoodRadius;
+        return foodGrid.collect(foodX, foodY, viewport.x() - margin, viewport.y() - margin,
+                viewport.maxX() + margin, viewport.maxY() + margin, out);
+    }
+
+    /**
+     * Grows the arrays of individuals, if necessary, so the frames of a growing population are rarely reallocated.
+     *
+     * @param count the number of individuals to capture
+     */
+    private void ensureIndividualCapacity(int count) {
+        if (x.length >= count)
+            return;
+
+        int capacity = Math.max(16, count * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        angle = Arrays.copyOf(angle, capacity);
+        halfTorsoLength = Arrays.copyOf(halfTorsoLength, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        hue = Arrays.copyOf(hue, capacity);
+        saturation = Arrays.copyOf(saturation, capacity);
+        brightness = Arrays.copyOf(brightness, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        energy = Arrays.copyOf(energy, capacity);
+        age = Arrays.copyOf(age, capacity);
+        generation = Arrays.copyOf(generation, capacity);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getIndividualCount() {
+        return individualCount;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getAngle(int i) {
+        return angle[i];
+    }
+
+    public double getHalfTorsoLength(int i) {
+        return halfTorsoLength[i];
+    }
+
+    public double getRadius(int i) {
+        return radius[i];
+    }
+
+    public float getHue(int i) {
+        return hue[i];
+    }
+
+    public float getSaturation(int i) {
+        return saturation[i];
+    }
+
+    public float getBrightness(int i) {
+        return brightness[i];
+    }
+
+    /**
+     * @param i    the index of an individual
+     * @param flag {@link #EATING} or {@link #BEING_EATEN}
+     * @return true iff the individual has the given flag
+     */
+    public boolean hasFlag(int i, byte flag) {
+        return (flags[i] & flag) != 0;
+    }
+
+    public double getEnergy(int i) {
+        return energy[i];
+    }
+
+    public long getAge(int i) {
+        return age[i];
+    }
+
+    public long getGeneration(int i) {
+        return generation[i];
+    }
+
+    public int getFoodCount() {
+        return foodCount;
+    }
+
+    public double getFoodX(int i) {
+        return foodX[i];
+    }
+
+    public double getFoodY(int i) {
+        return foodY[i];
+    }
+
+    public double getFoodRadius(int i) {
+        return foodRadius[i];
+    }
+
+    public int getFittest() {
+        return fittest;
+    }
+
+    public int getOldest() {
+        return oldest;
+    }
+
+    public int getLatest() {
+        return latest;
+    }
+
+    public long getMaxGeneration() {
+        return maxGeneration;
+    }
+}
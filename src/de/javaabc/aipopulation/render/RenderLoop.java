@@ -0,0 +1,128 @@
+package de.javaabc.aipopulation.render;
+
+import de.javaabc.aipopulation.util.Renderable;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Actively renders a window on a dedicated thread, instead of asking Swing to repaint it.
+ * <p>
+ * Frames are drawn into the back buffer of a {@link BufferStrategy}, which is an accelerated
+ * {@link java.awt.image.VolatileImage} (or a flipped video memory page) wherever the platform supports it,
+ * and shown at the target frame rate of a {@link FramePacer}, independent of the tick rate.
+ * Swing neither coalesces nor drops these frames, and the rendering hints follow the adaptive quality of the pacer.
+ *
+ * @author Timo Friedl
+ */
+public class RenderLoop implements Runnable {
+    /**
+     * the number of buffers of the buffer strategy, i.e. one front and one back buffer
+     */
+    private static final int BUFFERS = 2;
+
+    /**
+     * the window to render on
+     */
+    private final Window window;
+
+    /**
+     * the renderer of each frame
+     */
+    private final Renderable renderable;
+
+    /**
+     * the pacer of the frame rate and render quality
+     */
+    private final FramePacer pacer;
+
+    /**
+     * the render thread, or null if not started
+     */
+    private Thread thread;
+
+    /**
+     * Creates a new render loop.
+     *
+     * @param window     the window to render on, which must already be displayable
+     * @param renderable the renderer of each frame
+     * @param pacer      the pacer of the frame rate and render quality
+     */
+    public RenderLoop(Window window, Renderable renderable, FramePacer pacer) {
+        this.window = window;
+        this.renderable = renderable;
+        this.pacer = pacer;
+    }
+
+    /**
+     * Creates the buffer strategy of the window and starts the render thread.
+     */
+    public void start() {
+        window.setIgnoreRepaint(true); // Swing must not paint over the actively rendered frames
+        window.createBufferStrategy(BUFFERS);
+
+        thread = new Thread(this, "render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the render thread after its current frame.
+     */
+    public void stop() {
+        if (thread != null)
+            thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy strategy = window.getBufferStrategy();
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                pacer.awaitNextFrame();
+
+                long start = System.nanoTime();
+                try {
+                    renderFrame(strategy);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                pacer.frameRendered(System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Renders one frame into the back buffer and shows it, and renders it again if the buffer contents were lost meanwhile.
+     *
+     * @param strategy the buffer strategy of the window
+     */
+    private void renderFrame(BufferStrategy strategy) {
+        do {
+            do {
+                var g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    pacer.getQuality().apply(g);
+                    renderable.render(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        // Flush the frame to the screen now, some window systems buffer it otherwise
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * @return the capabilities of the buffer strategy, e.g. whether its back buffer is accelerated
+     */
+    public BufferCapabilities getCapabilities() {
+        return window.getBufferStrategy().getCapabilities();
+    }
+}
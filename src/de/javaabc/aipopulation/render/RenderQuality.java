@@ -0,0 +1,66 @@
+package de.javaabc.aipopulation.render;
+
+import java.awt.*;
+
+import static java.awt.RenderingHints.*;
+
+/**
+ * The rendering hints of a frame, from the most expensive to the cheapest ones.
+ *
+ * @author Timo Friedl
+ */
+public enum RenderQuality {
+    /**
+     * antialiased shapes and text, bicubic interpolation of scaled images
+     */
+    HIGH(VALUE_ANTIALIAS_ON, VALUE_TEXT_ANTIALIAS_ON, VALUE_RENDER_QUALITY, VALUE_INTERPOLATION_BICUBIC),
+
+    /**
+     * antialiased shapes and text, but bilinear interpolation and faster (less accurate) compositing
+     */
+    MEDIUM(VALUE_ANTIALIAS_ON, VALUE_TEXT_ANTIALIAS_ON, VALUE_RENDER_SPEED, VALUE_INTERPOLATION_BILINEAR),
+
+    /**
+     * no antialiasing at all and nearest neighbor interpolation
+     */
+    LOW(VALUE_ANTIALIAS_OFF, VALUE_TEXT_ANTIALIAS_OFF, VALUE_RENDER_SPEED, VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+
+    /**
+     * the values of {@link RenderingHints#KEY_ANTIALIASING}, {@link RenderingHints#KEY_TEXT_ANTIALIASING},
+     * {@link RenderingHints#KEY_RENDERING} and {@link RenderingHints#KEY_INTERPOLATION}
+     */
+    private final Object antialiasing, textAntialiasing, rendering, interpolation;
+
+    RenderQuality(Object antialiasing, Object textAntialiasing, Object rendering, Object interpolation) {
+        this.antialiasing = antialiasing;
+        this.textAntialiasing = textAntialiasing;
+        this.rendering = rendering;
+        this.interpolation = interpolation;
+    }
+
+    /**
+     * Sets the rendering hints of this quality.
+     *
+     * @param g the {@link Graphics2D} to configure
+     */
+    public void apply(Graphics2D g) {
+        g.setRenderingHint(KEY_ANTIALIASING, antialiasing);
+        g.setRenderingHint(KEY_TEXT_ANTIALIASING, textAntialiasing);
+        g.setRenderingHint(KEY_RENDERING, rendering);
+        g.setRenderingHint(KEY_INTERPOLATION, interpolation);
+    }
+
+    /**
+     * @return the next cheaper quality, or this one if it is the cheapest
+     */
+    public RenderQuality lower() {
+        return this == LOW ? LOW : values()[ordinal() + 1];
+    }
+
+    /**
+     * @return the next more expensive quality, or this one if it is the most expensive
+     */
+    public RenderQuality higher() {
+        return this == HIGH ? HIGH : values()[ordinal() - 1];
+    }
+}
@@ -0,0 +1,335 @@
+package de.javaabc.aipopulation.render;
+
+import de.javaabc.aipopulation.geom.Capsule;
+import de.javaabc.aipopulation.geom.Circle;
+import de.javaabc.aipopulation.geom.Rot;
+import de.javaabc.aipopulation.geom.Vec;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.awt.RenderingHints.*;
+
+/**
+ * A cache of pre-rendered images of individuals and food dots, so each object is drawn by one image copy
+ * instead of filling (and antialiasing) its shape every frame.
+ * <p>
+ * Individuals are pre-rendered at {@link #ANGLE_BUCKETS} different angles, since copying an image without any transform
+ * is several times faster than drawing it rotated, which in turn is hardly faster than filling the shape.
+ * Their colors are quantized to {@link #HUE_BUCKETS} x {@link #SATURATION_BUCKETS} x {@link #BRIGHTNESS_BUCKETS} buckets,
+ * and their sizes to {@link #SIZE_STEPS} per px, which limits the number of different sprites.
+ * If the images exceed {@link #maxBytes}, the least recently used ones are evicted.
+ * Only used by the rendering thread.
+ *
+ * @author Timo Friedl
+ */
+public class SpriteCache {
+    /**
+     * the default memory cap of all cached images, measured in bytes
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    /**
+     * the number of distinct angles
+     */
+    private static final int ANGLE_BUCKETS = 32;
+
+    /**
+     * the number of distinct hues
+     */
+    private static final int HUE_BUCKETS = 128;
+
+    /**
+     * the number of distinct saturations
+     */
+    private static final int SATURATION_BUCKETS = 8;
+
+    /**
+     * the number of distinct brightnesses
+     */
+    private static final int BRIGHTNESS_BUCKETS = 8;
+
+    /**
+     * the number of distinct sizes per px
+     */
+    private static final int SIZE_STEPS = 2;
+
+    /**
+     * the width of the outline of individuals that are eating or being eaten, measured in px
+     */
+    private static final float OUTLINE_WIDTH = 2f;
+
+    /**
+     * the transparent margin around each sprite, so antialiasing and the outline are not clipped, measured in px
+     */
+    private static final int MARGIN = 2;
+
+    /**
+     * the maximum size of all cached images, measured in bytes
+     */
+    private final long maxBytes;
+
+    /**
+     * the cached images in access order, i.e. the least recently used one first
+     */
+    private final LinkedHashMap<Long, Sprite> sprites = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * the current size of all cached images, measured in bytes
+     */
+    private long bytes;
+
+    /**
+     * the number of draws that found their sprite in this cache, and that had to render it first
+     */
+    private long hits, misses;
+
+    /**
+     * the number of sprites that have been evicted
+     */
+    private long evictions;
+
+    /**
+     * The outline of an individual.
+     */
+    public enum Outline {
+        NONE(null),
+        EATING(Color.GREEN),
+        BEING_EATEN(Color.RED);
+
+        /**
+         * the color of this outline, or null if there is none
+         */
+        private final Color color;
+
+        Outline(Color color) {
+            this.color = color;
+        }
+    }
+
+    /**
+     * A pre-rendered image.
+     *
+     * @param image   the image
+     * @param centerX the horizontal position of the center of the object in the image, measured in px
+     * @param centerY the vertical position of the center of the object in the image, measured in px
+     */
+    private record Sprite(BufferedImage image, double centerX, double centerY) {
+    }
+
+    /**
+     * Creates a new, empty sprite cache with the default memory cap.
+     */
+    public SpriteCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a new, empty sprite cache.
+     *
+     * @param maxBytes the maximum size of all cached images, measured in bytes
+     */
+    public SpriteCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Draws an individual.
+     *
+     * @param g               the {@link Graphics2D} to draw on
+     * @param x               the horizontal center position of the individual, measured in px
+     * @param y               the vertical center position of the individual, measured in px
+     * @param angle           the angle of the individual, measured in radians
+     * @param halfTorsoLength the half torso length of the individual, measured in px
+     * @param radius          the radius of the individual, measured in px
+     * @param hue             the hue of the render color, between 0 and 1
+     * @param saturation      the saturation of the render color, between 0 and 1
+     * @param brightness      the brightness of the render color, between 0 and 1
+     * @param outline         the outline of the individual
+     */
+    public void drawIndividual(Graphics2D g, double x, double y, double angle, double halfTorsoLength, double radius,
+                               float hue, float saturation, float brightness, Outline outline) {
+        int angleBucket = Math.floorMod(Math.round(angle / (2.0 * Math.PI) * ANGLE_BUCKETS), ANGLE_BUCKETS);
+        int hueBucket = Math.floorMod(Math.round(hue * HUE_BUCKETS), HUE_BUCKETS);
+        int saturationBucket = bucket(saturation, SATURATION_BUCKETS);
+        int brightnessBucket = bucket(brightness, BRIGHTNESS_BUCKETS);
+        int lengthStep = (int) Math.round(halfTorsoLength * SIZE_STEPS), radiusStep = (int) Math.round(radius * SIZE_STEPS);
+
+        // Pack all properties into one key (individuals have the lowest bit clear, food has it set)
+        long key = ((long) angleBucket << 48) | ((long) hueBucket << 40) | ((long) saturationBucket << 36)
+                | ((long) brightnessBucket << 32) | ((long) (lengthStep & 0x3fff) << 17) | ((long) (radiusStep & 0x3fff) << 3)
+                | ((long) outline.ordinal() << 1);
+
+        Sprite sprite = sprites.get(key);
+        if (sprite == null) {
+            misses++;
+            Color color = Color.getHSBColor((float) hueBucket / HUE_BUCKETS,
+                    (float) saturationBucket / (SATURATION_BUCKETS - 1), (float) brightnessBucket / (BRIGHTNESS_BUCKETS - 1));
+            sprite = renderIndividual(g.getDeviceConfiguration(), 2.0 * Math.PI * angleBucket / ANGLE_BUCKETS,
+                    (double) lengthStep / SIZE_STEPS, (double) radiusStep / SIZE_STEPS, color, outline.color);
+            put(key, sprite);
+        } else {
+            hits++;
+        }
+
+        draw(g, sprite, x, y);
+    }
+
+    /**
+     * Draws a food dot.
+     *
+     * @param g      the {@link Graphics2D} to draw on
+     * @param x      the horizontal center position of the food dot, measured in px
+     * @param y      the vertical center position of the food dot, measured in px
+     * @param radius the radius of the food dot, measured in px
+     * @param color  the color of the food dot
+     */
+    public void drawFood(Graphics2D g, double x, double y, double radius, Color color) {
+        int radiusStep = (int) Math.round(radius * SIZE_STEPS);
+        long key = ((long) (color.getRGB() & 0xffffff) << 24) | ((long) (radiusStep & 0x7fffff) << 1) | 1L;
+
+        Sprite sprite = sprites.get(key);
+        if (sprite == null) {
+            misses++;
+            sprite = renderFood(g.getDeviceConfiguration(), (double) radiusStep / SIZE_STEPS, color);
+            put(key, sprite);
+        } else {
+            hits++;
+        }
+
+        draw(g, sprite, x, y);
+    }
+
+    /**
+     * Copies the image of a sprite, rounded to integer coordinates, so no interpolation is necessary.
+     *
+     * @param g      the {@link Graphics2D} to draw on
+     * @param sprite the sprite to draw
+     * @param x      the horizontal center position of the object, measured in px
+     * @param y      the vertical center position of the object, measured in px
+     */
+    private static void draw(Graphics2D g, Sprite sprite, double x, double y) {
+        g.drawImage(sprite.image(), (int) Math.round(x - sprite.centerX()), (int) Math.round(y - sprite.centerY()), null);
+    }
+
+    /**
+     * Quantizes a value between 0 and 1.
+     *
+     * @param value   the value to quantize
+     * @param buckets the number of distinct values
+     * @return the index of the bucket of the value
+     */
+    private static int bucket(float value, int buckets) {
+        return Math.max(0, Math.min(buckets - 1, Math.round(value * (buckets - 1))));
+    }
+
+    /**
+     * Adds a sprite and evicts the least recently used ones if the memory cap is exceeded.
+     * The added sprite itself is never evicted, even if it alone exceeds the cap.
+     *
+     * @param key    the key of the sprite
+     * @param sprite the sprite to add
+     */
+    private void put(long key, Sprite sprite) {
+        sprites.put(key, sprite);
+        bytes += sizeOf(sprite);
+
+        Iterator<Map.Entry<Long, Sprite>> iterator = sprites.entrySet().iterator();
+        while (bytes > maxBytes && sprites.size() > 1) {
+            Sprite eldest = iterator.next().getValue();
+            iterator.remove();
+            bytes -= sizeOf(eldest);
+            evictions++;
+        }
+    }
+
+    /**
+     * @return the approximate size of the image of a sprite, measured in bytes
+     */
+    private static long sizeOf(Sprite sprite) {
+        return (long) sprite.image().getWidth() * sprite.image().getHeight() * Integer.BYTES;
+    }
+
+    /**
+     * Renders a rotated individual into a new image.
+     *
+     * @param config          the configuration of the target device, to create a compatible image
+     * @param angle           the angle of the individual, measured in radians
+     * @param halfTorsoLength the half torso length of the individual, measured in px
+     * @param radius          the radius of the individual, measured in px
+     * @param color           the fill color
+     * @param outline         the color of the outline, or null if there is none
+     * @return a new sprite
+     */
+    private static Sprite renderIndividual(GraphicsConfiguration config, double angle, double halfTorsoLength, double radius,
+                                           Color color, Color outline) {
+        // The bounding box of the rotated capsule
+        double centerX = Math.ceil(Math.abs(Math.cos(angle)) * halfTorsoLength + radius) + MARGIN;
+        double centerY = Math.ceil(Math.abs(Math.sin(angle)) * halfTorsoLength + radius) + MARGIN;
+        BufferedImage image = config.createCompatibleImage((int) (2 * centerX), (int) (2 * centerY), Transparency.TRANSLUCENT);
+
+        Graphics2D g = createGraphics(image);
+        Shape bounds = Capsule.around(new Vec(centerX, centerY), new Rot(angle), halfTorsoLength, radius);
+        g.setColor(color);
+        g.fill(bounds);
+        if (outline != null) {
+            g.setColor(outline);
+            g.setStroke(new BasicStroke(OUTLINE_WIDTH));
+            g.draw(bounds);
+        }
+        g.dispose();
+
+        return new Sprite(image, centerX, centerY);
+    }
+
+    /**
+     * Renders a food dot into a new image.
+     *
+     * @param config the configuration of the target device, to create a compatible image
+     * @param radius the radius of the food dot, measured in px
+     * @param color  the fill color
+     * @return a new sprite
+     */
+    private static Sprite renderFood(GraphicsConfiguration config, double radius, Color color) {
+        double center = Math.ceil(radius) + MARGIN;
+        BufferedImage image = config.createCompatibleImage((int) (2 * center), (int) (2 * center), Transparency.TRANSLUCENT);
+
+        Graphics2D g = createGraphics(image);
+        g.setColor(color);
+        g.fill(new Circle(new Vec(center, center), radius));
+        g.dispose();
+
+        return new Sprite(image, center, center);
+    }
+
+    /**
+     * Creates a high quality {@link Graphics2D} to render a sprite.
+     *
+     * @param image the image to render on
+     * @return a new graphics instance
+     */
+    private static Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(KEY_ANTIALIASING, VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(KEY_RENDERING, VALUE_RENDER_QUALITY);
+        g.setRenderingHint(KEY_STROKE_CONTROL, VALUE_STROKE_PURE);
+        return g;
+    }
+
+    /**
+     * @return the number of cached sprites
+     */
+    public int size() {
+        return sprites.size();
+    }
+
+    @Override
+    public String toString() {
+        long total = hits + misses;
+        return String.format("sprites: %d cached, %d KiB, %.1f%% hits, %d evicted",
+                sprites.size(), bytes >> 10, total == 0 ? 0.0 : 100.0 * hits / total, evictions);
+    }
+}
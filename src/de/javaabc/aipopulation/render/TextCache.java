@@ -0,0 +1,174 @@
+package de.javaabc.aipopulation.render;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of derived fonts, their metrics and laid-out labels, so drawing text neither derives fonts,
+ * nor formats numbers, nor measures strings every frame.
+ * <p>
+ * The glyphs themselves are already cached by Java 2D, which draws a string of cached glyphs
+ * about as fast as it copies a pre-rendered image of the string (and faster than a {@link java.awt.font.GlyphVector}),
+ * so labels are drawn as strings at their pre-computed position.
+ * The number of cached labels is bounded; if it is exceeded, the least recently used label is evicted.
+ * Only used by the rendering thread.
+ *
+ * @author Timo Friedl
+ */
+public class TextCache {
+    /**
+     * the default maximum number of cached labels
+     */
+    public static final int DEFAULT_MAX_LABELS = 4096;
+
+    /**
+     * the maximum number of cached labels
+     */
+    private final int maxLabels;
+
+    /**
+     * the derived fonts of each base font, style and size
+     */
+    private final Map<FontKey, Font> fonts = new HashMap<>();
+
+    /**
+     * the metrics of each font
+     */
+    private final Map<Font, FontMetrics> metrics = new HashMap<>();
+
+    /**
+     * the laid-out labels in access order, i.e. the least recently used one first
+     */
+    private final LinkedHashMap<LabelKey, Label> labels;
+
+    /**
+     * The key of a derived font.
+     *
+     * @param base  the font to derive from
+     * @param style the style of the derived font
+     * @param size  the size of the derived font, measured in pt
+     */
+    private record FontKey(Font base, int style, float size) {
+    }
+
+    /**
+     * The key of a label.
+     *
+     * @param value the text of the label, or a number to format
+     * @param font  the font of the label
+     */
+    private record LabelKey(Object value, Font font) {
+    }
+
+    /**
+     * A laid-out label.
+     *
+     * @param text    the text of the label
+     * @param offsetX the horizontal offset from the center of the label to the start of its baseline
+     * @param offsetY the vertical offset from the center of the label to its baseline
+     */
+    private record Label(String text, float offsetX, float offsetY) {
+    }
+
+    /**
+     * Creates a new, empty text cache with the default number of labels.
+     */
+    public TextCache() {
+        this(DEFAULT_MAX_LABELS);
+    }
+
+    /**
+     * Creates a new, empty text cache.
+     *
+     * @param maxLabels the maximum number of cached labels
+     */
+    public TextCache(int maxLabels) {
+        this.maxLabels = maxLabels;
+        labels = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LabelKey, Label> eldest) {
+                return size() > TextCache.this.maxLabels;
+            }
+        };
+    }
+
+    /**
+     * Returns a font derived from a base font, which is only derived on the first call.
+     *
+     * @param base  the font to derive from
+     * @param style the style of the derived font, e.g. {@link Font#BOLD}
+     * @param size  the size of the derived font, measured in pt
+     * @return the derived font
+     */
+    public Font font(Font base, int style, float size) {
+        return fonts.computeIfAbsent(new FontKey(base, style, size), key -> base.deriveFont(style, size));
+    }
+
+    /**
+     * Returns the metrics of a font, which are only computed on the first call.
+     *
+     * @param g    the {@link Graphics2D} that the font is used with
+     * @param font the font to measure
+     * @return the metrics of the font
+     */
+    public FontMetrics metrics(Graphics2D g, Font font) {
+        return metrics.computeIfAbsent(font, g::getFontMetrics);
+    }
+
+    /**
+     * Draws a text centered at a given position, in the current color of the graphics.
+     *
+     * @param g    the {@link Graphics2D} to draw on
+     * @param text the text to draw
+     * @param font the font of the text
+     * @param x    the horizontal center position of the text
+     * @param y    the vertical center position of the text
+     */
+    public void drawCentered(Graphics2D g, String text, Font font, double x, double y) {
+        draw(g, new LabelKey(text, font), x, y);
+    }
+
+    /**
+     * Draws a number centered at a given position, in the current color of the graphics.
+     *
+     * @param g      the {@link Graphics2D} to draw on
+     * @param number the number to draw
+     * @param font   the font of the number
+     * @param x      the horizontal center position of the number
+     * @param y      the vertical center position of the number
+     */
+    public void drawCentered(Graphics2D g, long number, Font font, double x, double y) {
+        draw(g, new LabelKey(number, font), x, y);
+    }
+
+    /**
+     * Draws a label centered at a given position, and lays it out first if it is not cached.
+     *
+     * @param g   the {@link Graphics2D} to draw on
+     * @param key the key of the label
+     * @param x   the horizontal center position of the label
+     * @param y   the vertical center position of the label
+     */
+    private void draw(Graphics2D g, LabelKey key, double x, double y) {
+        Label label = labels.get(key);
+        if (label == null) {
+            String text = String.valueOf(key.value());
+            FontMetrics fontMetrics = metrics(g, key.font());
+            label = new Label(text, -fontMetrics.stringWidth(text) / 2f, fontMetrics.getAscent() - fontMetrics.getHeight() / 2f);
+            labels.put(key, label);
+        }
+
+        if (g.getFont() != key.font())
+            g.setFont(key.font());
+        g.drawString(label.text(), (float) x + label.offsetX(), (float) y + label.offsetY());
+    }
+
+    /**
+     * @return the number of cached labels
+     */
+    public int size() {
+        return labels.size();
+    }
+}
@@ -0,0 +1,85 @@
+package de.javaabc.aipopulation.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free triple buffer that passes frames from one writer thread to one reader thread.
+ * <p>
+ * The writer fills the back buffer and publishes it by swapping it with the middle buffer.
+ * The reader swaps its front buffer with the middle buffer if a newer frame has been published since.
+ * Neither thread ever waits for the other one, and the buffers are reused, so no frame is allocated after creation.
+ * The reader may skip frames if the writer is faster, and sees the same frame again if the writer is slower.
+ *
+ * @param <T> the type of frames
+ * @author Timo Friedl
+ */
+public class TripleBuffer<T> {
+    /**
+     * the flag of {@link #middle} that is set if the middle buffer contains a frame the reader has not seen yet
+     */
+    private static final int FRESH = 4;
+
+    /**
+     * the mask of {@link #middle} that extracts the index of the middle buffer
+     */
+    private static final int INDEX = 3;
+
+    /**
+     * the three buffers
+     */
+    private final Object[] buffers = new Object[3];
+
+    /**
+     * the index of the middle buffer, combined with the {@link #FRESH} flag
+     */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /**
+     * the index of the buffer that is written, only accessed by the writer
+     */
+    private int back = 0;
+
+    /**
+     * the index of the buffer that is read, only accessed by the reader
+     */
+    private int front = 2;
+
+    /**
+     * Creates a new triple buffer.
+     *
+     * @param factory the supplier of the three (empty) frames
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++)
+            buffers[i] = factory.get();
+    }
+
+    /**
+     * @return the frame to fill before the next {@link #publish()}, only called by the writer
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Publishes the back buffer, which becomes the next frame of the reader. Only called by the writer.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Returns the latest published frame. Only called by the reader.
+     * The frame is not modified until the reader calls this method again.
+     *
+     * @return the latest published frame
+     */
+    @SuppressWarnings("unchecked")
+    public T getFront() {
+        if ((middle.get() & FRESH) != 0)
+            front = middle.getAndSet(front) & INDEX;
+        return (T) buffers[front];
+    }
+}
@@ -0,0 +1,96 @@
+package de.javaabc.aipopulation.render;
+
+/**
+ * The part of a world that is visible on screen, i.e. a translation and uniform scale from world to screen coordinates.
+ *
+ * @param x      the world x-coordinate at the left edge of the screen, measured in px
+ * @param y      the world y-coordinate at the top edge of the screen, measured in px
+ * @param zoom   the number of screen px per world px
+ * @param width  the width of the screen area, measured in screen px
+ * @param height the height of the screen area, measured in screen px
+ * @author Timo Friedl
+ */
+public record Viewport(double x, double y, double zoom, int width, int height) {
+    /**
+     * Creates a viewport that shows a whole world, centered in the screen area.
+     *
+     * @param worldWidth  the width of the world, measured in px
+     * @param worldHeight the height of the world, measured in px
+     * @param width       the width of the screen area, measured in screen px
+     * @param height      the height of the screen area, measured in screen px
+     * @return a new viewport
+     */
+    public static Viewport fit(double worldWidth, double worldHeight, int width, int height) {
+        return centered(worldWidth / 2.0, worldHeight / 2.0, Math.min(width / worldWidth, height / worldHeight), width, height);
+    }
+
+    /**
+     * Creates a viewport around a center position.
+     *
+     * @param centerX the world x-coordinate at the center of the screen area, measured in px
+     * @param centerY the world y-coordinate at the center of the screen area, measured in px
+     * @param zoom    the number of screen px per world px
+     * @param width   the width of the screen area, measured in screen px
+     * @param height  the height of the screen area, measured in screen px
+     * @return a new viewport
+     */
+    public static Viewport centered(double centerX, double centerY, double zoom, int width, int height) {
+        return new Viewport(centerX - width / (2.0 * zoom), centerY - height / (2.0 * zoom), zoom, width, height);
+    }
+
+    /**
+     * @return the screen x-coordinate of a world x-coordinate
+     */
+    public double toScreenX(double worldX) {
+        return (worldX - x) * zoom;
+    }
+
+    /**
+     * @return the screen y-coordinate of a world y-coordinate
+     */
+    public double toScreenY(double worldY) {
+        return (worldY - y) * zoom;
+    }
+
+    /**
+     * @return the world x-coordinate of a screen x-coordinate
+     */
+    public double toWorldX(double screenX) {
+        return x + screenX / zoom;
+    }
+
+    /**
+     * @return the world y-coordinate of a screen y-coordinate
+     */
+    public double toWorldY(double screenY) {
+        return y + screenY / zoom;
+    }
+
+    /**
+     * @return the world x-coordinate at the right edge of the screen, measured in px
+     */
+    public double maxX() {
+        return toWorldX(width);
+    }
+
+    /**
+     * @return the world y-coordinate at the bottom edge of the screen, measured in px
+     */
+    public double maxY() {
+        return toWorldY(height);
+    }
+
+    /**
+     * @return the world x-coordinate at the center of the screen, measured in px
+     */
+    public double centerX() {
+        return toWorldX(width / 2.0);
+    }
+
+    /**
+     * @return the world y-coordinate at the center of the screen, measured in px
+     */
+    public double centerY() {
+        return toWorldY(height / 2.0);
+    }
+}
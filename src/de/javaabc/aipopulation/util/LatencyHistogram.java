@@ -0,0 +1,139 @@
+package de.javaabc.aipopulation.util;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations, measured in ns, that can be recorded by multiple threads without locking.
+ * <p>
+ * Each power of two is split into {@link #SUB_BUCKETS} buckets of equal width,
+ * so percentiles are accurate to within 25 %.
+ *
+ * @author Timo Friedl
+ */
+public class LatencyHistogram {
+    /**
+     * the number of bits that select the bucket within a power of two
+     */
+    private static final int SUB_BUCKET_BITS = 2;
+
+    /**
+     * the number of buckets per power of two
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * the number of recorded values in each bucket
+     */
+    private final LongAdder[] buckets = new LongAdder[Long.SIZE * SUB_BUCKETS];
+
+    /**
+     * the number of recorded values
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * the sum of all recorded values
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * the maximum recorded value
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Creates a new empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration to record, measured in ns
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0L, nanos);
+        buckets[bucketIndex(nanos)].increment();
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Creates a snapshot of the recorded values and optionally starts over.
+     * Values that are recorded concurrently may or may not be part of the snapshot.
+     *
+     * @param reset the option to remove all recorded values afterwards
+     * @return a new snapshot instance
+     */
+    public Snapshot snapshot(boolean reset) {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++)
+            counts[i] = reset ? buckets[i].sumThenReset() : buckets[i].sum();
+
+        if (reset)
+            return new Snapshot(count.sumThenReset(), sum.sumThenReset(), max.getThenReset(), counts);
+        return new Snapshot(count.sum(), sum.sum(), max.get(), counts);
+    }
+
+    /**
+     * @return the index of the bucket a given non-negative value belongs to
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the largest value that belongs to the bucket with a given index
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+
+        int exponent = index / SUB_BUCKETS, subBucket = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1L;
+    }
+
+    /**
+     * The recorded values of a {@link LatencyHistogram} at a certain point in time.
+     *
+     * @param count   the number of recorded values
+     * @param sum     the sum of all recorded values, measured in ns
+     * @param max     the maximum recorded value, measured in ns
+     * @param buckets the number of recorded values in each bucket
+     */
+    public record Snapshot(long count, long sum, long max, long[] buckets) {
+        /**
+         * @return the mean of all recorded values, measured in ns
+         */
+        public double mean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * Estimates a percentile of the recorded values.
+         *
+         * @param quantile the quantile in range [0.0, 1.0], e.g. 0.99 for the 99th percentile
+         * @return an upper bound of the percentile, measured in ns
+         */
+        public long percentile(double quantile) {
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0L;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0)
+                    return Math.min(max, bucketUpperBound(i));
+            }
+            return max;
+        }
+    }
+}
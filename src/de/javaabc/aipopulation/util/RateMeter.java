@@ -0,0 +1,53 @@
+package de.javaabc.aipopulation.util;
+
+/**
+ * Measures how many events, e.g. ticks or frames, occur per second, over consecutive windows of {@link #WINDOW_NANOS}.
+ * <p>
+ * Events are recorded by one thread, and the rate of the last complete window can be read by any thread.
+ *
+ * @author Timo Friedl
+ */
+public class RateMeter {
+    /**
+     * the length of each measuring window, measured in ns
+     */
+    private static final long WINDOW_NANOS = 1000L * 1000L * 1000L;
+
+    /**
+     * the start time of the current window, measured in ns
+     */
+    private long windowStart = System.nanoTime();
+
+    /**
+     * the number of events in the current window
+     */
+    private long events;
+
+    /**
+     * the rate of the last complete window, measured in events per second
+     */
+    private volatile double rate;
+
+    /**
+     * Records a number of events that have just occurred.
+     *
+     * @param count the number of events, may be 0 to only complete a window if it has elapsed
+     */
+    public void record(long count) {
+        events += count;
+
+        long now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS) {
+            rate = events * 1e9 / (now - windowStart);
+            events = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * @return the rate of the last complete window, measured in events per second
+     */
+    public double getRate() {
+        return rate;
+    }
+}
@@ -0,0 +1,94 @@
+package de.javaabc.aipopulation.util;
+
+import java.util.Comparator;
+
+/**
+ * Utility class for partial sorting.
+ *
+ * @author Timo Friedl
+ */
+public class Selection {
+    /**
+     * Rearranges an array so that its first k elements are the k smallest ones, in no particular order (quickselect).
+     * Takes expected linear time instead of the O(n log n) of sorting, and is deterministic for a given array.
+     *
+     * @param elements   the array to rearrange in place
+     * @param k          the number of smallest elements to move to the front
+     * @param comparator the order of the elements
+     * @param <T>        the type of elements
+     */
+    public static <T> void selectSmallest(T[] elements, int k, Comparator<? super T> comparator) {
+        int left = 0, right = elements.length - 1;
+        if (k <= 0 || k >= elements.length)
+            return;
+
+        // Narrow down the range that contains the k-th smallest element (at index k - 1)
+        while (left < right) {
+            int pivotIndex = partition(elements, left, right, medianOfThree(elements, left, (left + right) >>> 1, right, comparator), comparator);
+            if (pivotIndex == k - 1)
+                return;
+            if (pivotIndex < k - 1)
+                left = pivotIndex + 1;
+            else
+                right = pivotIndex - 1;
+        }
+    }
+
+    /**
+     * Moves all elements smaller than a pivot before it and all others after it (Lomuto partition).
+     *
+     * @param elements   the array to rearrange in place
+     * @param left       the first index of the range to partition
+     * @param right      the last index of the range to partition
+     * @param pivotIndex the index of the pivot element
+     * @param comparator the order of the elements
+     * @param <T>        the type of elements
+     * @return the final index of the pivot element
+     */
+    private static <T> int partition(T[] elements, int left, int right, int pivotIndex, Comparator<? super T> comparator) {
+        T pivot = elements[pivotIndex];
+        swap(elements, pivotIndex, right);
+
+        int store = left;
+        for (int i = left; i < right; i++) {
+            if (comparator.compare(elements[i], pivot) < 0)
+                swap(elements, i, store++);
+        }
+        swap(elements, store, right);
+        return store;
+    }
+
+    /**
+     * Chooses the index of the median of three elements as pivot, which avoids the worst case on (almost) sorted arrays.
+     *
+     * @param elements   the array to choose from
+     * @param a          the first index
+     * @param b          the second index
+     * @param c          the third index
+     * @param comparator the order of the elements
+     * @param <T>        the type of elements
+     * @return the index of the median element
+     */
+    private static <T> int medianOfThree(T[] elements, int a, int b, int c, Comparator<? super T> comparator) {
+        boolean ab = comparator.compare(elements[a], elements[b]) < 0;
+        boolean bc = comparator.compare(elements[b], elements[c]) < 0;
+        boolean ac = comparator.compare(elements[a], elements[c]) < 0;
+        if (ab == bc)
+            return b;
+        return ab == ac ? c : a;
+    }
+
+    /**
+     * Swaps two elements of an array.
+     *
+     * @param elements the array
+     * @param i        the index of the first element
+     * @param j        the index of the second element
+     * @param <T>      the type of elements
+     */
+    private static <T> void swap(T[] elements, int i, int j) {
+        T tmp = elements[i];
+        elements[i] = elements[j];
+        elements[j] = tmp;
+    }
+}
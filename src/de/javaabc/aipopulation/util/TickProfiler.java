@@ -0,0 +1,147 @@
+package de.javaabc.aipopulation.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the time that is spent in each phase of a tick (and rendering) with one {@link LatencyHistogram} per phase.
+ * <p>
+ * Recording only costs one call of {@link System#nanoTime()} and a few uncontended additions,
+ * so the profiler is always enabled.
+ *
+ * @author Timo Friedl
+ */
+public class TickProfiler {
+    /**
+     * The measured phases, in the order they occur.
+     */
+    public enum Phase {
+        SPAWN("food spawn"),
+        GRIDS("spatial grids"),
+        SENSE("eye sensing"),
+        THINK("brain inference"),
+        INTEGRATE("integration"),
+        WALLS("wall collisions"),
+        CONTACTS("contact detection"),
+        RESOLVE("food / enemy contacts"),
+        METABOLIZE("metabolism"),
+        REPRODUCE("reproduction"),
+        POPULATION("purge / force reprod."),
+        TICK("total tick"),
+        PUBLISH("frame snapshot"),
+        RENDER("render");
+
+        /**
+         * the human-readable name of this phase
+         */
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * the histogram of each phase, indexed by ordinal
+     */
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+    /**
+     * Creates a new profiler without any recorded values.
+     */
+    public TickProfiler() {
+        for (int i = 0; i < histograms.length; i++)
+            histograms[i] = new LatencyHistogram();
+    }
+
+    /**
+     * Records the time since a given start time for a phase.
+     * The returned time can be used as the start time of the next phase.
+     *
+     * @param phase the phase that has just ended
+     * @param start the start time of the phase, as returned by {@link System#nanoTime()}
+     * @return the current time, as returned by {@link System#nanoTime()}
+     */
+    public long lap(Phase phase, long start) {
+        long now = System.nanoTime();
+        record(phase, now - start);
+        return now;
+    }
+
+    /**
+     * Records a duration for a phase.
+     *
+     * @param phase the measured phase
+     * @param nanos the duration, measured in ns
+     */
+    public void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Creates snapshots of all phases and optionally starts over.
+     *
+     * @param reset the option to remove all recorded values afterwards
+     * @return the snapshot of each phase, indexed by ordinal
+     */
+    public LatencyHistogram.Snapshot[] snapshot(boolean reset) {
+        var snapshots = new LatencyHistogram.Snapshot[histograms.length];
+        for (int i = 0; i < histograms.length; i++)
+            snapshots[i] = histograms[i].snapshot(reset);
+        return snapshots;
+    }
+
+    /**
+     * Formats snapshots as a table with one line per measured phase, measured in ms.
+     * Phases that have not been recorded at all, e.g. rendering in a headless simulation, are skipped.
+     *
+     * @param snapshots the snapshot of each phase, indexed by ordinal
+     * @return the lines of the table, starting with a header line
+     */
+    public static List<String> formatTable(LatencyHistogram.Snapshot[] snapshots) {
+        List<String> lines = new ArrayList<>(snapshots.length + 1);
+        lines.add(String.format("%-22s %9s %9s %9s %9s", "phase [ms]", "mean", "p50", "p99", "max"));
+        for (Phase phase : Phase.values()) {
+            var s = snapshots[phase.ordinal()];
+            if (s.count() == 0)
+                continue;
+            lines.add(String.format("%-22s %9.3f %9.3f %9.3f %9.3f", phase.getLabel(),
+                    s.mean() / 1E6, s.percentile(0.5) / 1E6, s.percentile(0.99) / 1E6, s.max() / 1E6));
+        }
+        return lines;
+    }
+
+    /**
+     * Appends the snapshots of several profilers, e.g. one per island, to a CSV file with one row per island and phase, measured in ns.
+     * A header row is written if the file does not exist yet.
+     *
+     * @param path      the CSV file to append to
+     * @param tick      the tick at which the snapshots have been taken
+     * @param snapshots the snapshot of each phase, indexed by profiler and ordinal
+     * @throws IOException if the file cannot be written
+     */
+    public static void appendCsv(Path path, long tick, LatencyHistogram.Snapshot[][] snapshots) throws IOException {
+        var csv = new StringBuilder();
+        if (!Files.exists(path))
+            csv.append("tick,island,phase,count,mean_ns,p50_ns,p99_ns,max_ns\n");
+
+        for (int island = 0; island < snapshots.length; island++) {
+            for (Phase phase : Phase.values()) {
+                var s = snapshots[island][phase.ordinal()];
+                csv.append(String.format("%d,%d,%s,%d,%.0f,%d,%d,%d%n", tick, island, phase.name().toLowerCase(),
+                        s.count(), s.mean(), s.percentile(0.5), s.percentile(0.99), s.max()));
+            }
+        }
+
+        Files.writeString(path, csv, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,197 @@
+package de.javaabc.aipopulation.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ticks a simulation on a dedicated thread at a multiple of real-time speed, in wall-clock slices of a fixed length.
+ * <p>
+ * In each slice, as many due ticks as fit into the slice are run back to back, and then one frame is published,
+ * so the cost of publishing (and rendering) a frame is paid once per slice instead of once per fixed number of ticks.
+ * At real-time speed, one tick is due every 1/{@link #REAL_TIME_TPS} second;
+ * at {@link #MAX_SPEED}, ticks are always due, so each slice is filled with ticks.
+ * If ticks take longer than they may, the missed ticks are caught up in the following slices,
+ * but at most {@link #MAX_BACKLOG_SECONDS} of them, so a long stall does not cause an endless burst of ticks.
+ *
+ * @author Timo Friedl
+ */
+public class TickScheduler implements Runnable {
+    /**
+     * the number of ticks per second at real-time speed
+     */
+    public static final int REAL_TIME_TPS = 60;
+
+    /**
+     * the speed multiplier that runs as many ticks as possible
+     */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    /**
+     * the maximum number of missed ticks to catch up, measured in seconds of simulation time at the current speed
+     */
+    private static final double MAX_BACKLOG_SECONDS = 0.25;
+
+    /**
+     * the simulation to tick
+     */
+    private final Tickable tickable;
+
+    /**
+     * the action that publishes a frame after each slice that ran at least one tick
+     */
+    private final Runnable publisher;
+
+    /**
+     * the length of each slice, measured in ns
+     */
+    private final long sliceNanos;
+
+    /**
+     * the achieved number of ticks per second
+     */
+    private final RateMeter tickRate = new RateMeter();
+
+    /**
+     * the speed multiplier of real-time speed, or {@link #MAX_SPEED}
+     */
+    private volatile double speed = 1.0;
+
+    /**
+     * a flag indicating that no ticks are run
+     */
+    private volatile boolean paused;
+
+    /**
+     * the scheduler thread, or null if not started
+     */
+    private Thread thread;
+
+    /**
+     * Creates a new tick scheduler.
+     *
+     * @param tickable   the simulation to tick
+     * @param publisher  the action that publishes a frame after each slice that ran at least one tick
+     * @param sliceNanos the length of each slice, i.e. the maximum time between two published frames, measured in ns
+     */
+    public TickScheduler(Tickable tickable, Runnable publisher, long sliceNanos) {
+        if (sliceNanos <= 0L)
+            throw new IllegalArgumentException("Slice length must be positive, but got " + sliceNanos);
+        this.tickable = tickable;
+        this.publisher = publisher;
+        this.sliceNanos = sliceNanos;
+    }
+
+    /**
+     * Starts the scheduler thread.
+     */
+    public void start() {
+        thread = new Thread(this, "tick");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the scheduler thread after its current slice and waits until it has terminated,
+     * so the simulation is no longer ticked when this method returns.
+     */
+    public void stop() {
+        if (thread == null)
+            return;
+
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        long last = System.nanoTime();
+        double due = 0.0; // The number of ticks that are due, including fractions of the next one
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long sliceStart = System.nanoTime();
+            long deadline = sliceStart + sliceNanos;
+            double speed = this.speed;
+
+            // Ticks that have become due since the last slice, without an unbounded backlog
+            if (paused)
+                due = 0.0;
+            else if (speed == MAX_SPEED)
+                due = Double.POSITIVE_INFINITY;
+            else
+                due = Math.min(due + (sliceStart - last) * 1e-9 * speed * REAL_TIME_TPS, MAX_BACKLOG_SECONDS * speed * REAL_TIME_TPS);
+            last = sliceStart;
+
+            // As many due ticks as fit into this slice, then one frame
+            int ticks = 0;
+            try {
+                while (due >= 1.0 && (ticks == 0 || System.nanoTime() - deadline < 0L)) {
+                    tickable.tick();
+                    due--;
+                    ticks++;
+                }
+                if (ticks > 0)
+                    publisher.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            tickRate.record(ticks);
+
+            // Wait for the next slice, unless ticks are still due
+            if (due < 1.0 || paused) {
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0L && !Thread.currentThread().isInterrupted())
+                    LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+
+    /**
+     * Sets the speed of the simulation.
+     *
+     * @param speed the multiplier of real-time speed, e.g. 2 or 10, or {@link #MAX_SPEED} to tick as fast as possible
+     */
+    public void setSpeed(double speed) {
+        if (!(speed > 0.0))
+            throw new IllegalArgumentException("Speed must be positive, but got " + speed);
+        this.speed = speed;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @return the achieved number of ticks per second
+     */
+    public double getTickRate() {
+        return tickRate.getRate();
+    }
+
+    /**
+     * @return the length of each slice, measured in ns
+     */
+    public long getSliceNanos() {
+        return sliceNanos;
+    }
+
+    /**
+     * @param speed a multiplier of real-time speed, or {@link #MAX_SPEED}
+     * @return a short human-readable form of the speed, e.g. "10x" or "max"
+     */
+    public static String formatSpeed(double speed) {
+        if (speed == MAX_SPEED)
+            return "max";
+        return speed == Math.rint(speed) ? (long) speed + "x" : speed + "x";
+    }
+}
@@ -0,0 +1,304 @@
+package de.javaabc.aipopulation.world;
+
+import de.javaabc.aipopulation.objects.Genome;
+import de.javaabc.aipopulation.objects.Individual;
+import de.javaabc.aipopulation.util.LatencyHistogram;
+import de.javaabc.aipopulation.util.TickProfiler;
+import de.javaabc.aipopulation.util.Tickable;
+import de.javaabc.aipopulation.world.migration.MigrationTransport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An island model of independent {@link World}s that evolve concurrently.
+ * <p>
+ * All islands are ticked in parallel, one task per island.
+ * Every {@link #migrationInterval} ticks, copies of the fittest individuals of each island
+ * migrate to other islands as defined by a {@link MigrationTopology}.
+ * Migration happens between two ticks, while no island is ticking.
+ * <p>
+ * Optionally, the emigrants are also sent to other processes by a {@link MigrationTransport},
+ * and the immigrants received from other processes are spread over the islands.
+ *
+ * @author Timo Friedl
+ */
+public class Archipelago implements Tickable {
+    /**
+     * the number of ticks between two status reports, i.e. 5 minutes at real-time speed
+     */
+    private static final long STATUS_INTERVAL = 5 * 60 * 60;
+
+    /**
+     * the path of the periodically appended tick profiles of all islands
+     */
+    private static final Path PROFILE_PATH = Path.of(World.PATH_DIR, "profile.csv");
+
+    /**
+     * the independent worlds
+     */
+    private final World[] islands;
+
+    /**
+     * the topology that defines which islands receive the migrants of each island
+     */
+    private final MigrationTopology topology;
+
+    /**
+     * the number of ticks between two migrations
+     */
+    private final long migrationInterval;
+
+    /**
+     * the number of fittest individuals of each island that migrate
+     */
+    private final int migrants;
+
+    /**
+     * a pseudorandom number generator for random topologies
+     */
+    private final SplittableRandom random;
+
+    /**
+     * the threads that tick the islands, or null if there is only one island
+     */
+    private final ExecutorService executor;
+
+    /**
+     * the transport that exchanges migrants with other processes, or null if migrating within this process only
+     */
+    private MigrationTransport transport;
+
+    /**
+     * the index of the island that receives the next immigrant from another process
+     */
+    private int nextImmigrantIsland;
+
+    /**
+     * the number of ticks of this archipelago so far
+     */
+    private long totalTicks;
+
+    /**
+     * Creates a new archipelago of given islands.
+     *
+     * @param islands           the independent worlds, each one with its own population bounds
+     * @param topology          the topology that defines which islands receive the migrants of each island
+     * @param migrationInterval the number of ticks between two migrations
+     * @param migrants          the number of fittest individuals of each island that migrate
+     * @param seed              the seed of the pseudorandom number generator for random topologies
+     */
+    public Archipelago(World[] islands, MigrationTopology topology, long migrationInterval, int migrants, long seed) {
+        if (islands.length == 0)
+            throw new IllegalArgumentException("An archipelago needs at least one island");
+        if (migrationInterval <= 0)
+            throw new IllegalArgumentException("Migration interval must be positive, but was " + migrationInterval);
+
+        this.islands = islands.clone();
+        this.topology = topology;
+        this.migrationInterval = migrationInterval;
+        this.migrants = migrants;
+        random = new SplittableRandom(seed);
+
+        if (islands.length > 1) {
+            // One thread per island, but not more than cores
+            int threads = Math.min(islands.length, Runtime.getRuntime().availableProcessors());
+            var threadIndex = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                var thread = new Thread(runnable, "island-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Adds random {@link Individual}s and food to each island that is still empty.
+     */
+    public void init() {
+        for (World island : islands) {
+            island.initIndividuals();
+            island.initFood();
+        }
+    }
+
+    /**
+     * Advances all islands by one tick in parallel and migrates individuals if it is time to.
+     */
+    @Override
+    public void tick() {
+        if (executor == null) {
+            islands[0].tick();
+        } else {
+            CompletableFuture.allOf(Arrays.stream(islands)
+                    .map(island -> CompletableFuture.runAsync(island::tick, executor))
+                    .toArray(CompletableFuture[]::new)
+            ).join();
+        }
+
+        totalTicks++;
+        if (totalTicks % migrationInterval == 0)
+            migrate();
+        if (transport != null)
+            admitImmigrants();
+        if (totalTicks % STATUS_INTERVAL == 0)
+            printStatus();
+    }
+
+    /**
+     * Prints the population and the tick profile of each island since the last status report, and starts over.
+     * If a simulation is attached, the profiles are also appended to {@link #PROFILE_PATH}.
+     */
+    private void printStatus() {
+        System.out.println("tick " + totalTicks + " (" + (totalTicks / 3600) + "min). Generations: " + getMaxGeneration());
+        System.out.println(getPopulationSize() + " individuals total on " + islands.length + " island(s)");
+
+        var snapshots = new LatencyHistogram.Snapshot[islands.length][];
+        for (int i = 0; i < islands.length; i++) {
+            snapshots[i] = islands[i].getProfiler().snapshot(true);
+            if (islands.length > 1)
+                System.out.println("island " + i + ":");
+            TickProfiler.formatTable(snapshots[i]).forEach(System.out::println);
+        }
+
+        if (islands[0].getSimulation() == null)
+            return;
+
+        try {
+            Files.createDirectories(PROFILE_PATH.getParent());
+            TickProfiler.appendCsv(PROFILE_PATH, totalTicks, snapshots);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Sends copies of the fittest individuals of each island to the islands defined by {@link #topology}.
+     * All emigrants are selected before any of them arrive, so the order of islands does not matter.
+     */
+    private void migrate() {
+        List<List<Individual>> emigrants = new ArrayList<>(islands.length);
+        for (World island : islands)
+            emigrants.add(island.getIndividuals().stream(false)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(migrants)
+                    .toList());
+
+        for (int source = 0; source < islands.length; source++) {
+            for (int target : topology.targets(source, islands.length, random)) {
+                for (Individual emigrant : emigrants.get(source))
+                    emigrant.copyTo(islands[target]); // Arrivals are committed with the next tick of the target
+            }
+        }
+
+        if (transport != null)
+            transport.send(emigrants.stream().flatMap(List::stream).map(Individual::getGenome).toList());
+    }
+
+    /**
+     * Spreads the immigrants that have been received from other processes over the islands, one after another.
+     * Immigrants with an incompatible brain, e.g. from a different version, are rejected.
+     */
+    private void admitImmigrants() {
+        for (Genome genome : transport.poll()) {
+            if (!Individual.isCompatible(genome.brain()))
+                continue;
+
+            islands[nextImmigrantIsland].addImmigrant(genome);
+            nextImmigrantIsland = (nextImmigrantIsland + 1) % islands.length;
+        }
+    }
+
+    /**
+     * Publishes the current state of each island as a frame to render.
+     * Must be called between two ticks, by the thread that ticks this archipelago.
+     */
+    public void publishFrames() {
+        for (World island : islands)
+            island.publishFrame();
+    }
+
+    /**
+     * Saves all islands to disk and waits until they are written.
+     */
+    public void save() {
+        for (World island : islands)
+            island.save();
+    }
+
+    /**
+     * @return the maximum number of generations some {@link Individual} has on any island
+     */
+    public long getMaxGeneration() {
+        return Arrays.stream(islands)
+                .mapToLong(World::getMaxGeneration)
+                .max().orElse(0L);
+    }
+
+    /**
+     * @return the total number of individuals on all islands
+     */
+    public int getPopulationSize() {
+        return Arrays.stream(islands)
+                .mapToInt(island -> island.getIndividuals().size())
+                .sum();
+    }
+
+    /**
+     * @return the total number of food objects on all islands
+     */
+    public int getFoodSize() {
+        return Arrays.stream(islands)
+                .mapToInt(island -> island.getFoodObjects().size())
+                .sum();
+    }
+
+    /**
+     * Sets the transport that exchanges migrants with other processes.
+     *
+     * @param transport the transport, or null to migrate within this process only
+     */
+    public void setTransport(MigrationTransport transport) {
+        this.transport = transport;
+    }
+
+    public MigrationTransport getTransport() {
+        return transport;
+    }
+
+    public World getIsland(int index) {
+        return islands[index];
+    }
+
+    public int size() {
+        return islands.length;
+    }
+
+    public MigrationTopology getTopology() {
+        return topology;
+    }
+
+    public long getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public int getMigrants() {
+        return migrants;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+}
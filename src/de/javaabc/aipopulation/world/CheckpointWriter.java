@@ -0,0 +1,129 @@
+package de.javaabc.aipopulation.world;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes {@link WorldCheckpoint}s to disk on a background thread, one after another,
+ * and keeps track of how long capturing and writing took.
+ *
+ * @author Timo Friedl
+ */
+public class CheckpointWriter {
+    /**
+     * the single background thread that writes checkpoints, created on first use
+     */
+    private ExecutorService executor;
+
+    /**
+     * the number of checkpoints that are submitted, but not written yet
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * the number of checkpoints that have been written
+     */
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * the time it took to capture the last written checkpoint, measured in ns
+     */
+    private volatile long lastCaptureNanos;
+
+    /**
+     * the time it took to encode and write the last written checkpoint, measured in ns
+     */
+    private volatile long lastWriteNanos;
+
+    /**
+     * the maximum time it took to capture a written checkpoint, measured in ns
+     */
+    private volatile long maxCaptureNanos;
+
+    /**
+     * the maximum time it took to encode and write a checkpoint, measured in ns
+     */
+    private volatile long maxWriteNanos;
+
+    /**
+     * Submits a checkpoint to be written in the background.
+     * Checkpoints are written in the order they are submitted, so a later one is never overwritten by an earlier one.
+     *
+     * @param checkpoint the captured checkpoint to write
+     * @param path       the file to write to
+     * @return a future that completes when the checkpoint has been written
+     */
+    public synchronized CompletableFuture<Void> submit(WorldCheckpoint checkpoint, Path path) {
+        if (executor == null)
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                var thread = new Thread(runnable, "checkpoint-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        pending.incrementAndGet();
+        return CompletableFuture.runAsync(() -> {
+            try {
+                long start = System.nanoTime();
+                checkpoint.write(path);
+                record(checkpoint.getCaptureNanos(), System.nanoTime() - start);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write checkpoint \"" + path + "\"", e);
+            } finally {
+                pending.decrementAndGet();
+            }
+        }, executor);
+    }
+
+    /**
+     * Updates the latency metrics after a checkpoint has been written.
+     *
+     * @param captureNanos the time it took to capture the checkpoint, measured in ns
+     * @param writeNanos   the time it took to encode and write the checkpoint, measured in ns
+     */
+    private void record(long captureNanos, long writeNanos) {
+        lastCaptureNanos = captureNanos;
+        lastWriteNanos = writeNanos;
+        maxCaptureNanos = Math.max(maxCaptureNanos, captureNanos);
+        maxWriteNanos = Math.max(maxWriteNanos, writeNanos);
+        written.incrementAndGet();
+    }
+
+    /**
+     * @return true iff a submitted checkpoint has not been written yet
+     */
+    public boolean isBusy() {
+        return pending.get() > 0;
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getLastCaptureNanos() {
+        return lastCaptureNanos;
+    }
+
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    public long getMaxCaptureNanos() {
+        return maxCaptureNanos;
+    }
+
+    public long getMaxWriteNanos() {
+        return maxWriteNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d checkpoints, capture %.3f ms (max %.3f ms), write %.1f ms (max %.1f ms)",
+                getWritten(), lastCaptureNanos / 1E6, maxCaptureNanos / 1E6, lastWriteNanos / 1E6, maxWriteNanos / 1E6);
+    }
+}
@@ -0,0 +1,169 @@
+package de.javaabc.aipopulation.world;
+
+import de.javaabc.aipopulation.objects.Food;
+import de.javaabc.aipopulation.objects.Individual;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the contacts between individuals and between individuals and {@link Food} objects once per tick.
+ * <p>
+ * The broad phase queries the {@link SpatialGrid}s around each individual and collects candidate pairs,
+ * each unordered pair of individuals only once.
+ * The exact shape tests of the narrow phase are then only run on these candidates, in parallel,
+ * so the cost scales with the number of nearby pairs instead of the square of the population size.
+ *
+ * @author Timo Friedl
+ */
+public class CollisionDetector {
+    /**
+     * the candidate pairs of individuals, stored as consecutive population indices (a, b) with a &lt; b
+     */
+    private int[] individualPairs = new int[64];
+
+    /**
+     * the number of candidate pairs in {@link #individualPairs}
+     */
+    private int numberOfIndividualPairs;
+
+    /**
+     * the candidate pairs of an individual and a food object, stored as consecutive indices (individual, food)
+     */
+    private int[] foodPairs = new int[64];
+
+    /**
+     * the number of candidate pairs in {@link #foodPairs}
+     */
+    private int numberOfFoodPairs;
+
+    /**
+     * the results of the narrow phase, indexed by candidate pair
+     */
+    private boolean[] individualHits = new boolean[0], foodHits = new boolean[0];
+
+    /**
+     * the food indices found around the current individual, reused for sorting
+     */
+    private int[] foodCandidates = new int[16];
+
+    /**
+     * the number of valid entries in {@link #foodCandidates}
+     */
+    private int numberOfFoodCandidates;
+
+    /**
+     * Detects all contacts and passes them to the individuals.
+     *
+     * @param population     the individuals, in population order
+     * @param food           the food objects, in container order
+     * @param individualGrid the spatial index of the individuals, built from their current positions
+     * @param foodGrid       the spatial index of the food objects, built from their current positions
+     */
+    public void detect(List<Individual> population, List<Food> food,
+                       SpatialGrid<Individual> individualGrid, SpatialGrid<Food> foodGrid) {
+        collectCandidates(population, food, individualGrid, foodGrid);
+
+        // Narrow phase: exact shape tests, in parallel
+        individualHits = ensureCapacity(individualHits, numberOfIndividualPairs);
+        foodHits = ensureCapacity(foodHits, numberOfFoodPairs);
+        IntStream.range(0, numberOfIndividualPairs).parallel().forEach(p ->
+                individualHits[p] = population.get(individualPairs[2 * p]).touches(population.get(individualPairs[2 * p + 1])));
+        IntStream.range(0, numberOfFoodPairs).parallel().forEach(p ->
+                foodHits[p] = population.get(foodPairs[2 * p]).touches(food.get(foodPairs[2 * p + 1])));
+
+        // The prey of each individual is the first touched individual in population order
+        int[] prey = new int[population.size()];
+        Arrays.fill(prey, Integer.MAX_VALUE);
+        for (int p = 0; p < numberOfIndividualPairs; p++) {
+            if (individualHits[p]) {
+                int a = individualPairs[2 * p], b = individualPairs[2 * p + 1];
+                prey[a] = Math.min(prey[a], b);
+                prey[b] = Math.min(prey[b], a);
+            }
+        }
+
+        // Food pairs are grouped by individual and sorted by food index, so the contact lists keep container order
+        int p = 0;
+        for (int i = 0; i < population.size(); i++) {
+            List<Food> contacts = List.of();
+            for (; p < numberOfFoodPairs && foodPairs[2 * p] == i; p++) {
+                if (foodHits[p]) {
+                    if (contacts.isEmpty())
+                        contacts = new ArrayList<>(2);
+                    contacts.add(food.get(foodPairs[2 * p + 1]));
+                }
+            }
+
+            population.get(i).setContacts(contacts, prey[i] == Integer.MAX_VALUE ? null : population.get(prey[i]));
+        }
+    }
+
+    /**
+     * Broad phase: collects all pairs whose positions are close enough to possibly touch.
+     *
+     * @param population     the individuals, in population order
+     * @param food           the food objects, in container order
+     * @param individualGrid the spatial index of the individuals
+     * @param foodGrid       the spatial index of the food objects
+     */
+    private void collectCandidates(List<Individual> population, List<Food> food,
+                                   SpatialGrid<Individual> individualGrid, SpatialGrid<Food> foodGrid) {
+        numberOfIndividualPairs = 0;
+        numberOfFoodPairs = 0;
+
+        // Two objects can only touch if their center distance is at most the sum of their reaches
+        double maxIndividualReach = population.stream().mapToDouble(Individual::getReach).max().orElse(0.0);
+        double maxFoodRadius = food.stream().mapToDouble(Food::getRadius).max().orElse(0.0);
+
+        for (int i = 0; i < population.size(); i++) {
+            Individual ind = population.get(i);
+            double x = ind.getX(), y = ind.getY();
+
+            double range = ind.getReach() + maxIndividualReach;
+            int a = i;
+            individualGrid.forEachInRange(x - range, y - range, x + range, y + range, b -> {
+                if (b > a)
+                    addIndividualPair(a, b);
+            });
+
+            range = ind.getReach() + maxFoodRadius;
+            numberOfFoodCandidates = 0;
+            foodGrid.forEachInRange(x - range, y - range, x + range, y + range, this::addFoodCandidate);
+            Arrays.sort(foodCandidates, 0, numberOfFoodCandidates);
+            for (int c = 0; c < numberOfFoodCandidates; c++)
+                addFoodPair(i, foodCandidates[c]);
+        }
+    }
+
+    private void addIndividualPair(int a, int b) {
+        if (2 * numberOfIndividualPairs == individualPairs.length)
+            individualPairs = Arrays.copyOf(individualPairs, individualPairs.length * 2);
+        individualPairs[2 * numberOfIndividualPairs] = a;
+        individualPairs[2 * numberOfIndividualPairs + 1] = b;
+        numberOfIndividualPairs++;
+    }
+
+    private void addFoodCandidate(int food) {
+        if (numberOfFoodCandidates == foodCandidates.length)
+            foodCandidates = Arrays.copyOf(foodCandidates, foodCandidates.length * 2);
+        foodCandidates[numberOfFoodCandidates++] = food;
+    }
+
+    private void addFoodPair(int individual, int food) {
+        if (2 * numberOfFoodPairs == foodPairs.length)
+            foodPairs = Arrays.copyOf(foodPairs, foodPairs.length * 2);
+        foodPairs[2 * numberOfFoodPairs] = individual;
+        foodPairs[2 * numberOfFoodPairs + 1] = food;
+        numberOfFoodPairs++;
+    }
+
+    /**
+     * @return the given array if it has at least the given length, or a new, larger array otherwise
+     */
+    private static boolean[] ensureCapacity(boolean[] array, int length) {
+        return array.length >= length ? array : new boolean[Math.max(length, array.length * 3 / 2)];
+    }
+}
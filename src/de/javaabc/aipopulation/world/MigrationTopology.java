@@ -0,0 +1,55 @@
+package de.javaabc.aipopulation.world;
+
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Defines to which islands of an {@link Archipelago} the migrants of each island are sent.
+ *
+ * @author Timo Friedl
+ */
+public enum MigrationTopology {
+    /**
+     * Each island sends its migrants to the next island, and the last one to the first one.
+     */
+    RING {
+        @Override
+        public int[] targets(int source, int islands, RandomGenerator random) {
+            return islands < 2 ? new int[0] : new int[]{(source + 1) % islands};
+        }
+    },
+
+    /**
+     * Each island sends its migrants to all other islands.
+     */
+    FULLY_CONNECTED {
+        @Override
+        public int[] targets(int source, int islands, RandomGenerator random) {
+            return IntStream.range(0, islands).filter(i -> i != source).toArray();
+        }
+    },
+
+    /**
+     * Each island sends its migrants to another island that is chosen at random for each migration.
+     */
+    RANDOM {
+        @Override
+        public int[] targets(int source, int islands, RandomGenerator random) {
+            if (islands < 2)
+                return new int[0];
+
+            int target = random.nextInt(islands - 1);
+            return new int[]{target < source ? target : target + 1}; // Skip the source island
+        }
+    };
+
+    /**
+     * Computes the islands that receive the migrants of a given island.
+     *
+     * @param source  the index of the island that sends migrants
+     * @param islands the number of islands
+     * @param random  a pseudorandom number generator for random topologies
+     * @return the indices of the receiving islands, never including the source island
+     */
+    public abstract int[] targets(int source, int islands, RandomGenerator random);
+}
@@ -0,0 +1,50 @@
+package de.javaabc.aipopulation.world;
+
+import de.javaabc.aipopulation.objects.Individual;
+
+import java.util.List;
+
+/**
+ * Aggregates of a population of {@link Individual}s, collected in a single pass.
+ * If multiple individuals share a maximum, the first one in population order is chosen.
+ *
+ * @param fittest       the individual with the highest fitness, or null if the population is empty
+ * @param oldest        the individual with the highest age, or null if the population is empty
+ * @param latest        the individual with the highest number of generations, or null if the population is empty
+ * @param maxGeneration the number of generations of {@link #latest}, or 0 if the population is empty
+ * @param version       the version of the population these aggregates have been collected for
+ * @author Timo Friedl
+ */
+public record PopulationStats(Individual fittest, Individual oldest, Individual latest, long maxGeneration, long version) {
+    /**
+     * Collects the aggregates of a population.
+     *
+     * @param population the individuals, in population order
+     * @param version    the version of the population
+     * @return a new instance
+     */
+    public static PopulationStats of(List<Individual> population, long version) {
+        Individual fittest = null, oldest = null, latest = null;
+        double maxEnergy = Double.NEGATIVE_INFINITY;
+        long maxAge = Long.MIN_VALUE, maxGeneration = 0L;
+
+        for (Individual ind : population) {
+            double energy = ind.getEnergy();
+            long age = ind.getAge(), generation = ind.getGeneration();
+            if (fittest == null || energy > maxEnergy) {
+                fittest = ind;
+                maxEnergy = energy;
+            }
+            if (oldest == null || age > maxAge) {
+                oldest = ind;
+                maxAge = age;
+            }
+            if (latest == null || generation > maxGeneration) {
+                latest = ind;
+                maxGeneration = generation;
+            }
+        }
+
+        return new PopulationStats(fittest, oldest, latest, maxGeneration, version);
+    }
+}
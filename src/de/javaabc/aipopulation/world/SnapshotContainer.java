@@ -0,0 +1,220 @@
+package de.javaabc.aipopulation.world;
+
+import de.javaabc.aipopulation.objects.SimulationObject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A container of elements that can be read by multiple threads at once without locking.
+ * <p>
+ * Readers always see an immutable array snapshot of the elements.
+ * Additions and removals can be requested concurrently, but they are only buffered
+ * and become visible after the next call to {@link #commit()}, which is meant to be called at tick boundaries.
+ * Removals are applied in O(1) each by moving the last element into the gap, so the order of elements is not preserved.
+ *
+ * @param <T> the type of {@link SimulationObject} this container contains
+ * @author Timo Friedl
+ */
+public class SnapshotContainer<T extends SimulationObject> implements Iterable<T> {
+    /**
+     * the immutable array of elements that is visible to readers
+     */
+    private volatile SimulationObject[] snapshot;
+
+    /**
+     * the working copy of the elements, only modified by {@link #commit()}
+     */
+    private SimulationObject[] elements;
+
+    /**
+     * the number of valid entries in {@link #elements}
+     */
+    private int size;
+
+    /**
+     * the index of each element in {@link #elements}
+     */
+    private final Map<T, Integer> indices = new IdentityHashMap<>();
+
+    /**
+     * the buffered additions since the last commit
+     */
+    private final Queue<T> pendingAdditions = new ConcurrentLinkedQueue<>();
+
+    /**
+     * the buffered removals since the last commit
+     */
+    private final Queue<T> pendingRemovals = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new empty container.
+     */
+    public SnapshotContainer() {
+        snapshot = new SimulationObject[0];
+        elements = new SimulationObject[0];
+    }
+
+    /**
+     * Requests to add an element to this container.
+     * The element becomes visible after the next {@link #commit()}.
+     *
+     * @param element the element to add
+     */
+    public void add(T element) {
+        pendingAdditions.add(element);
+    }
+
+    /**
+     * Requests to add multiple elements to this container.
+     * The elements become visible after the next {@link #commit()}.
+     *
+     * @param elements the collection of elements to add
+     */
+    public void addAll(Collection<T> elements) {
+        pendingAdditions.addAll(elements);
+    }
+
+    /**
+     * Requests to remove an element from this container.
+     * The element disappears after the next {@link #commit()}.
+     * Removing an element that is not contained (anymore) has no effect.
+     *
+     * @param element the element to remove
+     */
+    public void remove(T element) {
+        pendingRemovals.add(element);
+    }
+
+    /**
+     * Applies all buffered additions and removals and publishes a new snapshot if anything has changed.
+     * Must not be called by multiple threads at once.
+     *
+     * @return true iff the content of this container has changed
+     */
+    public boolean commit() {
+        return commit(element -> {
+        });
+    }
+
+    /**
+     * Applies all buffered additions and removals and publishes a new snapshot if anything has changed.
+     * Must not be called by multiple threads at once.
+     *
+     * @param onRemoved an action to apply to each element that has actually been removed
+     * @return true iff the content of this container has changed
+     */
+    public boolean commit(Consumer<? super T> onRemoved) {
+        boolean changed = false;
+
+        T element;
+        while ((element = pendingAdditions.poll()) != null) {
+            if (indices.containsKey(element))
+                continue; // Already contained
+
+            if (size == elements.length)
+                elements = Arrays.copyOf(elements, Math.max(16, size * 2));
+
+            elements[size] = element;
+            indices.put(element, size++);
+            changed = true;
+        }
+
+        // Collect indices of removed elements
+        int[] removed = new int[16];
+        int numberOfRemoved = 0;
+        while ((element = pendingRemovals.poll()) != null) {
+            Integer index = indices.remove(element);
+            if (index == null)
+                continue; // Not contained (anymore)
+            onRemoved.accept(element);
+
+            if (numberOfRemoved == removed.length)
+                removed = Arrays.copyOf(removed, removed.length * 2);
+            removed[numberOfRemoved++] = index;
+        }
+
+        // Swap-remove from the highest index to the lowest, so the result does not depend on the order of removal requests
+        Arrays.sort(removed, 0, numberOfRemoved);
+        for (int i = numberOfRemoved - 1; i >= 0; i--) {
+            int index = removed[i];
+            T last = element(--size);
+            elements[size] = null;
+            if (index < size) {
+                elements[index] = last;
+                indices.put(last, index);
+            }
+            changed = true;
+        }
+
+        if (changed)
+            snapshot = Arrays.copyOf(elements, size);
+
+        return changed;
+    }
+
+    /**
+     * Creates a new {@link Iterator} instance that iterates through the current snapshot of this container.
+     *
+     * @return a new {@link Iterator} on this collection
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Spliterator<T> spliterator() {
+        // Array spliterators split evenly in halves, which is ideal for parallel streams
+        return Spliterators.spliterator((T[]) snapshot, Spliterator.IMMUTABLE | Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return an unmodifiable {@link List} view of the current snapshot of this container
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> snapshot() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) snapshot));
+    }
+
+    /**
+     * Streams the elements of the current snapshot of this container.
+     *
+     * @param parallel the option to return a parallel {@link Stream}
+     * @return a new {@link Stream} on this container
+     */
+    public Stream<T> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    /**
+     * Applies a given action to the elements of the current snapshot of this container.
+     *
+     * @param action   the action to apply
+     * @param parallel the option to apply the action in a parallel manner
+     */
+    public void forEach(Consumer<? super T> action, boolean parallel) {
+        stream(parallel).forEach(action);
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        forEach(action, true);
+    }
+
+    /**
+     * @return the number of elements in the current snapshot of this container
+     */
+    public int size() {
+        return snapshot.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(int index) {
+        return (T) elements[index];
+    }
+}
@@ -0,0 +1,238 @@
+package de.javaabc.aipopulation.world;
+
+import de.javaabc.aipopulation.objects.SimulationObject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+/**
+ * A uniform grid of square cells that buckets {@link SimulationObject}s by their position,
+ * so that nearest-neighbour queries only have to look at a few cells around the query position.
+ * <p>
+ * The grid is rebuilt from scratch (counting sort by cell) and is read-only between two rebuilds,
+ * which makes concurrent queries safe.
+ * Objects outside the world bounds are assigned to the closest border cell.
+ *
+ * @param <T> the type of {@link SimulationObject} this grid contains
+ * @author Timo Friedl
+ */
+public class SpatialGrid<T extends SimulationObject> {
+    /**
+     * the side length of each cell, measured in px
+     */
+    private final double cellSize;
+
+    /**
+     * the number of cells in horizontal and vertical direction
+     */
+    private int columns, rows;
+
+    /**
+     * For each cell index, the index of its first object in {@link #objects}.
+     * The last entry is equal to the total number of objects.
+     */
+    private int[] cellStart = new int[1];
+
+    /**
+     * the objects in this grid, sorted by cell index
+     */
+    private Object[] objects = new Object[0];
+
+    /**
+     * the cached x-coordinates of {@link #objects}
+     */
+    private double[] xs = new double[0];
+
+    /**
+     * the cached y-coordinates of {@link #objects}
+     */
+    private double[] ys = new double[0];
+
+    /**
+     * the index of each of {@link #objects} in the container snapshot this grid was built from
+     */
+    private int[] sourceIndices = new int[0];
+
+    /**
+     * the cell index of each element, by container snapshot index, reused by each rebuild
+     */
+    private int[] cellOfElement = new int[0];
+
+    /**
+     * For each cell index, the index of its next free slot in {@link #objects}, reused by each rebuild.
+     */
+    private int[] cellFill = new int[0];
+
+    /**
+     * Creates a new empty grid.
+     *
+     * @param cellSize the side length of each cell, measured in px
+     */
+    public SpatialGrid(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Replaces the content of this grid with the current elements of a given container.
+     *
+     * @param container the container whose elements should be indexed
+     * @param width     the width of the indexed area, measured in px
+     * @param height    the height of the indexed area, measured in px
+     */
+    public void rebuild(SnapshotContainer<T> container, double width, double height) {
+        List<T> elements = container.snapshot();
+        int n = elements.size();
+
+        columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        int cells = columns * rows;
+
+        if (cellStart.length != cells + 1) {
+            cellStart = new int[cells + 1];
+            cellFill = new int[cells];
+        } else {
+            Arrays.fill(cellStart, 0);
+        }
+
+        if (objects.length < n) {
+            objects = new Object[n];
+            xs = new double[n];
+            ys = new double[n];
+            sourceIndices = new int[n];
+            cellOfElement = new int[n];
+        } else {
+            Arrays.fill(objects, n, objects.length, null); // Do not retain removed objects
+        }
+
+        // Count objects per cell
+        for (int i = 0; i < n; i++) {
+            T element = elements.get(i);
+            cellOfElement[i] = cellIndex(column(element.getX()), row(element.getY()));
+            cellStart[cellOfElement[i] + 1]++;
+        }
+
+        // Prefix sum over counts
+        for (int c = 0; c < cells; c++)
+            cellStart[c + 1] += cellStart[c];
+
+        // Scatter objects into their cell ranges
+        System.arraycopy(cellStart, 0, cellFill, 0, cells);
+        for (int i = 0; i < n; i++) {
+            T element = elements.get(i);
+            int slot = cellFill[cellOfElement[i]]++;
+            objects[slot] = element;
+            xs[slot] = element.getX();
+            ys[slot] = element.getY();
+            sourceIndices[slot] = i;
+        }
+    }
+
+    /**
+     * Calls an action for every object whose position lies within a given axis-aligned rectangle.
+     * The objects are identified by their index in the container snapshot this grid was built from.
+     *
+     * @param minX   the minimum x-coordinate of the rectangle
+     * @param minY   the minimum y-coordinate of the rectangle
+     * @param maxX   the maximum x-coordinate of the rectangle
+     * @param maxY   the maximum y-coordinate of the rectangle
+     * @param action the action to call with the snapshot index of each object in range
+     */
+    public void forEachInRange(double minX, double minY, double maxX, double maxY, IntConsumer action) {
+        if (columns == 0)
+            return; // Not built yet
+
+        int fromColumn = column(minX), toColumn = column(maxX);
+        int fromRow = row(minY), toRow = row(maxY);
+
+        for (int gy = fromRow; gy <= toRow; gy++) {
+            for (int gx = fromColumn; gx <= toColumn; gx++) {
+                int cell = cellIndex(gx, gy);
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++)
+                    if (xs[i] >= minX && xs[i] <= maxX && ys[i] >= minY && ys[i] <= maxY)
+                        action.accept(sourceIndices[i]);
+            }
+        }
+    }
+
+    /**
+     * Searches for the object closest to a given origin object using an expanding ring of cells.
+     * The origin itself is never returned.
+     *
+     * @param origin the object to search around
+     * @return an optional containing the closest object, or an empty optional if there is no other object
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<T> findClosest(SimulationObject origin) {
+        if (columns == 0)
+            return Optional.empty(); // Not built yet
+
+        double x = origin.getX(), y = origin.getY();
+        int cx = column(x), cy = row(y);
+        int maxRing = Math.max(Math.max(cx, columns - 1 - cx), Math.max(cy, rows - 1 - cy));
+
+        Object best = null;
+        double bestSqDistance = Double.MAX_VALUE;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best != null) {
+                // Every object in this ring (or further out) is at least this far away
+                double gap = Math.max(0.0, Math.min(
+                        Math.min(x - (cx - ring + 1) * cellSize, (cx + ring) * cellSize - x),
+                        Math.min(y - (cy - ring + 1) * cellSize, (cy + ring) * cellSize - y)));
+                if (gap * gap >= bestSqDistance)
+                    break;
+            }
+
+            for (int gy = cy - ring; gy <= cy + ring; gy++) {
+                if (gy < 0 || gy >= rows)
+                    continue;
+
+                // Inner rows of the ring only consist of their leftmost and rightmost cell
+                boolean edgeRow = gy == cy - ring || gy == cy + ring;
+                int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+
+                for (int gx = cx - ring; gx <= cx + ring; gx += step) {
+                    if (gx < 0 || gx >= columns)
+                        continue;
+
+                    int cell = cellIndex(gx, gy);
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        if (objects[i] == origin)
+                            continue;
+
+                        double dx = xs[i] - x, dy = ys[i] - y;
+                        double sqDistance = dx * dx + dy * dy;
+                        if (sqDistance < bestSqDistance) {
+                            bestSqDistance = sqDistance;
+                            best = objects[i];
+                        }
+                    }
+                }
+            }
+        }
+
+        return Optional.ofNullable((T) best);
+    }
+
+    /**
+     * @param x some x-coordinate, measured in px
+     * @return the column of the cell containing the given coordinate, clamped to the grid
+     */
+    private int column(double x) {
+        return Math.min(columns - 1, Math.max(0, (int) Math.floor(x / cellSize)));
+    }
+
+    /**
+     * @param y some y-coordinate, measured in px
+     * @return the row of the cell containing the given coordinate, clamped to the grid
+     */
+    private int row(double y) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor(y / cellSize)));
+    }
+
+    private int cellIndex(int column, int row) {
+        return row * columns + column;
+    }
+}
@@ -1,38 +1,68 @@
 package de.javaabc.aipopulation.world;
 
 import de.javaabc.aipopulation.Simulation;
+import de.javaabc.aipopulation.dnn.BatchedInference;
 import de.javaabc.aipopulation.geom.Rot;
 import de.javaabc.aipopulation.geom.Vec;
+import de.javaabc.aipopulation.objects.BirthPipeline;
+import de.javaabc.aipopulation.objects.BodyStore;
 import de.javaabc.aipopulation.objects.Food;
+import de.javaabc.aipopulation.objects.Genome;
 import de.javaabc.aipopulation.objects.Individual;
-import de.javaabc.aipopulation.util.Renderable;
+import de.javaabc.aipopulation.render.FrameSnapshot;
+import de.javaabc.aipopulation.render.TripleBuffer;
+import de.javaabc.aipopulation.util.Selection;
 import de.javaabc.aipopulation.util.Tickable;
+import de.javaabc.aipopulation.util.TickProfiler;
+import de.javaabc.aipopulation.util.TickProfiler.Phase;
+import de.javaabc.aipopulation.world.legacy.LegacyWorldMigrator;
 
 import java.awt.*;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
 
 /**
  * The simulation world.
  *
  * @author Timo Friedl
  */
-public class World implements Tickable, Renderable, Serializable {
+public class World implements Tickable {
     /**
      * the save directory
      */
-    private static final String PATH_DIR = System.getProperty("user.home") + File.separator + ".aipopulation" + File.separator;
+    static final String PATH_DIR = System.getProperty("user.home") + File.separator + ".aipopulation" + File.separator;
 
     /**
      * the world save path
      */
-    private static final String WORLD_PATH = PATH_DIR + "world.txt";
+    private static final Path WORLD_PATH = Path.of(PATH_DIR, "world.bin");
 
     /**
-     * the reference to the main {@link Simulation} instance
+     * the save path of the serialized worlds of older versions, which are migrated once
      */
-    private transient Simulation simulation;
+    private static final Path LEGACY_WORLD_PATH = Path.of(PATH_DIR, "world.txt");
+
+    /**
+     * the side length of the cells of the {@link SpatialGrid}s, measured in px
+     */
+    private static final double GRID_CELL_SIZE = 64.0;
+
+    /**
+     * the attached {@link Simulation} that displays this world, or null if running headless
+     */
+    private Simulation simulation;
+
+    /**
+     * the size of this world, measured in px
+     */
+    private final int width, height;
 
     /**
      * Lower and upper bounds to the population size.
@@ -44,17 +74,85 @@ public class World implements Tickable, Renderable, Serializable {
     /**
      * the individuals in this world
      */
-    private final ThreadSafeContainer<Individual> individuals;
+    private final SnapshotContainer<Individual> individuals;
 
     /**
      * the food objects in this world
      */
-    private final ThreadSafeContainer<Food> foodObjects;
+    private final SnapshotContainer<Food> foodObjects;
+
+    /**
+     * the spatial index of {@link #individuals}, rebuilt at the beginning of each tick and after moving
+     */
+    private SpatialGrid<Individual> individualGrid;
+
+    /**
+     * the spatial index of {@link #foodObjects}, rebuilt at the beginning of each tick
+     */
+    private SpatialGrid<Food> foodGrid;
+
+    /**
+     * the physical state of all {@link #individuals}, which are handles into this store
+     */
+    private BodyStore bodies;
+
+    /**
+     * the broad- and narrow-phase contact detection between objects of this world
+     */
+    private CollisionDetector collisionDetector;
+
+    /**
+     * the background writer of the checkpoints of this world
+     */
+    private CheckpointWriter checkpointWriter;
+
+    /**
+     * the engine that evaluates the brains of all individuals at once, created on first use
+     */
+    private BatchedInference brainBatch;
+
+    /**
+     * the reproduction of all individuals of a tick at once
+     */
+    private BirthPipeline births;
+
+    /**
+     * the aggregates of the population, collected on demand, or null if not collected yet
+     */
+    private PopulationStats stats;
 
     /**
-     * a pseudorandom number generator for object initialization
+     * the version of the population, incremented by each commit
      */
-    private final Random random;
+    private long statsVersion;
+
+    /**
+     * the frames passed from the ticking thread to the rendering thread
+     */
+    private TripleBuffer<FrameSnapshot> frames;
+
+    /**
+     * the time measurement of each phase of {@link #tick()}
+     */
+    private TickProfiler profiler;
+
+    /**
+     * the file this world is saved to
+     */
+    private Path savePath;
+
+    /**
+     * The root stream of pseudorandom numbers of this world, used for object initialization.
+     * Each individual splits its own stream off this one (or off its parent's), so all randomness derives from one seed.
+     * Only used by the thread that ticks this world.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * the stream of pseudorandom numbers that checkpoint seeds are drawn from, split off {@link #random} once,
+     * so capturing a checkpoint never changes the stream the simulation draws from
+     */
+    private SplittableRandom checkpointRandom;
 
     /**
      * the number of ticks in this world so far
@@ -64,48 +162,106 @@ public class World implements Tickable, Renderable, Serializable {
     /**
      * Creates a new world with given properties.
      *
-     * @param simulation        the reference to the main {@link Simulation} instance
+     * @param width             the width of this world, measured in px
+     * @param height            the height of this world, measured in px
      * @param minPopulationSize the minimum number of individuals in this world
      * @param maxPopulationSize the maximum number of individuals in this world
      * @param individuals       the individuals in this world
      * @param foodObjects       the food objects in this world
      * @param totalTicks        the number of ticks in this world so far
+     * @param random            the root stream of pseudorandom numbers of this world
      */
-    private World(Simulation simulation, int minPopulationSize, int maxPopulationSize, ThreadSafeContainer<Individual> individuals, ThreadSafeContainer<Food> foodObjects, long totalTicks) {
-        this.simulation = simulation;
+    private World(int width, int height, int minPopulationSize, int maxPopulationSize, SnapshotContainer<Individual> individuals,
+                  SnapshotContainer<Food> foodObjects, long totalTicks, SplittableRandom random) {
+        this.width = width;
+        this.height = height;
         this.minPopulationSize = minPopulationSize;
         this.maxPopulationSize = maxPopulationSize;
         this.individuals = individuals;
         this.foodObjects = foodObjects;
         this.totalTicks = totalTicks;
-        random = new Random();
+        this.random = random;
+        initGrids();
     }
 
     /**
      * Creates a new empty world.
      *
-     * @param simulation        the reference to the main {@link Simulation} instance
+     * @param width             the width of this world, measured in px
+     * @param height            the height of this world, measured in px
+     * @param minPopulationSize the minimum number of individuals in this world
+     * @param maxPopulationSize the maximum number of individuals in this world
+     */
+    public World(int width, int height, int minPopulationSize, int maxPopulationSize) {
+        this(width, height, minPopulationSize, maxPopulationSize, new SnapshotContainer<>(), new SnapshotContainer<>(), 0L, new SplittableRandom());
+    }
+
+    /**
+     * Creates a new empty world with a fixed seed, so runs are reproducible.
+     *
+     * @param width             the width of this world, measured in px
+     * @param height            the height of this world, measured in px
      * @param minPopulationSize the minimum number of individuals in this world
      * @param maxPopulationSize the maximum number of individuals in this world
+     * @param seed              the seed that all randomness of this world derives from
      */
-    public World(Simulation simulation, int minPopulationSize, int maxPopulationSize) {
-        this(simulation, minPopulationSize, maxPopulationSize, new ThreadSafeContainer<>(), new ThreadSafeContainer<>(), 0L);
+    public World(int width, int height, int minPopulationSize, int maxPopulationSize, long seed) {
+        this(width, height, minPopulationSize, maxPopulationSize, new SnapshotContainer<>(), new SnapshotContainer<>(), 0L, new SplittableRandom(seed));
     }
 
     /**
-     * Loads a {@link World} from disk.
+     * Creates a new empty world that continues at a given tick, e.g. to restore a saved world.
      *
-     * @param simulation the reference to the main {@link Simulation} instance
+     * @param width             the width of this world, measured in px
+     * @param height            the height of this world, measured in px
+     * @param minPopulationSize the minimum number of individuals in this world
+     * @param maxPopulationSize the maximum number of individuals in this world
+     * @param totalTicks        the number of ticks in this world so far
+     * @param seed              the seed that all further randomness of this world derives from
+     */
+    public World(int width, int height, int minPopulationSize, int maxPopulationSize, long totalTicks, long seed) {
+        this(width, height, minPopulationSize, maxPopulationSize, new SnapshotContainer<>(), new SnapshotContainer<>(), totalTicks,
+                new SplittableRandom(seed));
+    }
+
+    /**
+     * Creates the body store, spatial indices, collision detection, checkpoint writer and profiler of this world,
+     * splits off the stream of checkpoint seeds, and resets the save path to the default.
+     * Individuals are bound to the store when they are created or when their world is set after loading.
+     */
+    private void initGrids() {
+        bodies = new BodyStore();
+        individualGrid = new SpatialGrid<>(GRID_CELL_SIZE);
+        foodGrid = new SpatialGrid<>(GRID_CELL_SIZE);
+        collisionDetector = new CollisionDetector();
+        checkpointWriter = new CheckpointWriter();
+        births = new BirthPipeline(this);
+        frames = new TripleBuffer<>(FrameSnapshot::new);
+        profiler = new TickProfiler();
+        checkpointRandom = random.split();
+        savePath = WORLD_PATH;
+    }
+
+    /**
+     * Loads a {@link World} checkpoint from disk.
+     * If there is no checkpoint yet, but a serialized world of an older version, that world is migrated once.
+     *
+     * @param legacyWidth  the width of a migrated world, since older versions did not save it
+     * @param legacyHeight the height of a migrated world, since older versions did not save it
      * @return an {@link Optional} containing the loaded world, or an empty optional if failed to load
      */
-    public static Optional<World> load(Simulation simulation) {
-        try (FileInputStream fis = new FileInputStream(WORLD_PATH);
-             ObjectInputStream ois = new ObjectInputStream(fis)) {
-            var world = (World) ois.readObject();
-            world.simulation = simulation;
-            world.getIndividuals().forEach(ind -> ind.setSimulation(simulation));
-            return Optional.of(world);
-        } catch (FileNotFoundException e) {
+    public static Optional<World> load(int legacyWidth, int legacyHeight) {
+        try {
+            if (Files.exists(WORLD_PATH))
+                return Optional.of(WorldCheckpoint.read(WORLD_PATH));
+
+            if (Files.exists(LEGACY_WORLD_PATH)) {
+                System.out.println("Migrating \"" + LEGACY_WORLD_PATH + "\"...");
+                var world = LegacyWorldMigrator.migrate(LEGACY_WORLD_PATH, legacyWidth, legacyHeight);
+                world.save();
+                return Optional.of(world);
+            }
+
             System.err.print("Failed to load world. Creating new.");
         } catch (Exception e) {
             e.printStackTrace();
@@ -114,24 +270,62 @@ public class World implements Tickable, Renderable, Serializable {
     }
 
     /**
-     * Saves this world to disk.
+     * Loads a {@link World} checkpoint from a given file, which it is saved to again afterwards.
+     *
+     * @param path the checkpoint file to read
+     * @return an {@link Optional} containing the loaded world, or an empty optional if there is no such file or failed to load
+     */
+    public static Optional<World> load(Path path) {
+        if (!Files.exists(path))
+            return Optional.empty();
+
+        try {
+            var world = WorldCheckpoint.read(path);
+            world.setSavePath(path);
+            return Optional.of(world);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param index the index of an island of an {@link Archipelago}
+     * @return the save path of the island
+     */
+    public static Path getIslandPath(int index) {
+        return Path.of(PATH_DIR, "island-" + index + ".bin");
+    }
+
+    /**
+     * Saves this world to disk and waits until it is written.
+     * May be called by any thread: the state is captured between two ticks.
      */
     public void save() {
-        simulation.setPause(true);
+        try {
+            saveAsync().join();
+            System.out.println("Saved \"" + savePath + "\": " + checkpointWriter);
+        } catch (CompletionException e) {
+            e.printStackTrace();
+        }
+    }
 
+    /**
+     * Captures the state of this world between two ticks and writes it to disk in the background,
+     * so the simulation does not need to pause.
+     *
+     * @return a future that completes when the world has been written
+     */
+    public CompletableFuture<Void> saveAsync() {
         var dir = new File(PATH_DIR);
-        if (dir.exists() || dir.mkdirs()) {
-            System.out.println("Saving \"" + WORLD_PATH + "\"...");
-            try (FileOutputStream fos = new FileOutputStream(WORLD_PATH);
-                 ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-                oos.writeObject(this);
-                System.out.println("...done!");
-            } catch (IOException ex) {
-                ex.printStackTrace();
-            } finally {
-                simulation.setPause(false);
-            }
+        if (!dir.exists() && !dir.mkdirs())
+            return CompletableFuture.failedFuture(new IOException("Failed to create \"" + PATH_DIR + "\""));
+
+        WorldCheckpoint checkpoint;
+        synchronized (this) { // Wait for the current tick to finish
+            checkpoint = WorldCheckpoint.capture(this);
         }
+        return checkpointWriter.submit(checkpoint, savePath);
     }
 
     /**
@@ -143,6 +337,7 @@ public class World implements Tickable, Renderable, Serializable {
 
         for (int i = 0; i < (minPopulationSize + maxPopulationSize) / 2; i++)
             addRandomIndividual();
+        commit();
     }
 
     /**
@@ -154,10 +349,27 @@ public class World implements Tickable, Renderable, Serializable {
         int border = radius + length;
         Color blue = new Color(0x00, 0x80, 0xFF);
 
-        int x = random.nextInt(simulation.getWidth() - 2 * border) + border;
-        int y = random.nextInt(simulation.getHeight() - 2 * border) + border;
-        Rot rot = Rot.norm(Math.random());
-        individuals.add(new Individual(simulation, new Vec(x, y), rot, blue, radius));
+        int x = random.nextInt(width - 2 * border) + border;
+        int y = random.nextInt(height - 2 * border) + border;
+        Rot rot = Rot.norm(random.nextDouble());
+        individuals.add(new Individual(this, new Vec(x, y), rot, blue, radius));
+    }
+
+    /**
+     * Adds an {@link Individual} with given heritable properties at a random position to this world,
+     * e.g. an immigrant from another process.
+     *
+     * @param genome the heritable properties of the new individual
+     */
+    public void addImmigrant(Genome genome) {
+        int length = 10;
+        int radius = 10;
+        int border = radius + length;
+
+        int x = random.nextInt(width - 2 * border) + border;
+        int y = random.nextInt(height - 2 * border) + border;
+        Rot rot = Rot.norm(random.nextDouble());
+        individuals.add(new Individual(this, new Vec(x, y), rot, radius, genome));
     }
 
     /**
@@ -166,14 +378,15 @@ public class World implements Tickable, Renderable, Serializable {
     public void initFood() {
         for (int i = 0; i < individuals.size(); i++)
             addRandomFood();
+        foodObjects.commit();
     }
 
     /**
      * Adds a random {@link Food} object to this world.
      */
     public void addRandomFood() {
-        int x = random.nextInt(simulation.getWidth());
-        int y = random.nextInt(simulation.getHeight());
+        int x = random.nextInt(width);
+        int y = random.nextInt(height);
         foodObjects.add(new Food(new Vec(x, y)));
     }
 
@@ -181,79 +394,285 @@ public class World implements Tickable, Renderable, Serializable {
      * @return the maximum number of generations some {@link Individual} has in this world
      */
     public long getMaxGeneration() {
-        return individuals.stream(true)
-                .mapToLong(Individual::getGeneration)
-                .max().orElse(0L);
+        return getStats().maxGeneration();
     }
 
+    /**
+     * Returns the aggregates of the current population, such as the fittest individual.
+     * They are collected in one pass on the first query after the population has changed, and reused until the next change,
+     * so publishing a frame does not scan the population multiple times.
+     * The cache is refreshed after every commit, but energies also change between two commits of a tick,
+     * so this must only be called by the thread that ticks this world, right after a commit or between two ticks.
+     *
+     * @return the aggregates of the current population
+     */
+    public PopulationStats getStats() {
+        long version = statsVersion;
+        var stats = this.stats;
+        if (stats == null || stats.version() != version)
+            this.stats = stats = PopulationStats.of(individuals.snapshot(), version);
+        return stats;
+    }
+
+    /**
+     * Advances this world by one tick.
+     * Synchronized, so the state can be captured consistently between two ticks by other threads.
+     */
     @Override
-    public void tick() {
+    public synchronized void tick() {
+        long tickStart = System.nanoTime();
         totalTicks++;
-        if (totalTicks % (5 * 60 * 60) == 0) {
-            // Print info and save to disk
-            System.out.println("tick " + totalTicks + " (" + (totalTicks / 3600) + "min). Generations: " + getMaxGeneration());
-            System.out.println(individuals.size() + " individuals total");
-            save();
-        }
+        // Save to disk in the background, but headless runs do not overwrite the save of the interactive simulation
+        if (totalTicks % (5 * 60 * 60) == 0 && simulation != null && !checkpointWriter.isBusy())
+            saveAsync().whenComplete((result, e) -> {
+                if (e != null)
+                    e.printStackTrace();
+                else
+                    System.out.println("Saved \"" + savePath + "\": " + checkpointWriter);
+            });
 
         // Spawn food every 5 seconds
         if (totalTicks % (5 * 60) == 0 && individuals.size() < maxPopulationSize)
             addRandomFood();
-
-        // Tick individuals
-        individuals.forEach(Individual::tick);
-
-        // Reproduce individuals
-        individuals.stream(true)
+        commit();
+        long t = profiler.lap(Phase.SPAWN, tickStart);
+
+        // Index current positions for the visual systems of the individuals
+        individualGrid.rebuild(individuals, width, height);
+        foodGrid.rebuild(foodObjects, width, height);
+        t = profiler.lap(Phase.GRIDS, t);
+
+        // Sense and think: read-only, in parallel
+        List<Individual> population = individuals.snapshot();
+        population.parallelStream().forEach(Individual::sense);
+        t = profiler.lap(Phase.SENSE, t);
+        think(population);
+        t = profiler.lap(Phase.THINK, t);
+
+        // Move: integrate all bodies at once, then each individual handles wall collisions on its own, in parallel
+        bodies.integrate(Individual.TRANSLATIONAL_FRICTION, Individual.ROTATIONAL_FRICTION);
+        t = profiler.lap(Phase.INTEGRATE, t);
+        population.parallelStream().forEach(Individual::collideWithWalls);
+        t = profiler.lap(Phase.WALLS, t);
+
+        // Detect contacts at the new positions (food does not move, so its grid is still up to date)
+        individualGrid.rebuild(individuals, width, height);
+        collisionDetector.detect(population, foodObjects.snapshot(), individualGrid, foodGrid);
+        t = profiler.lap(Phase.CONTACTS, t);
+
+        // Apply: resolve food claims and predation in population order, so conflicts have a deterministic outcome
+        population.forEach(Individual::resolveContacts);
+        t = profiler.lap(Phase.RESOLVE, t);
+        metabolize(population);
+        commit(); // Apply deaths and eaten food
+        t = profiler.lap(Phase.METABOLIZE, t);
+
+        // Reproduce: request births in population order, then mutate all children in parallel and add them in one batch
+        individuals.stream(false)
                 .filter(ind -> ind.getEnergy() >= 100.0)
-                .forEach(ind -> ind.reproduce(2, false));
+                .forEach(ind -> births.request(ind, 2, false));
+        births.commit();
+        commit();
+        t = profiler.lap(Phase.REPRODUCE, t);
 
         // Manage over- / underpopulation
         if (individuals.size() > maxPopulationSize)
             purge();
         else if (individuals.size() < minPopulationSize)
             forceReproduction();
+        commit();
+        profiler.lap(Phase.POPULATION, t);
+        profiler.lap(Phase.TICK, tickStart);
     }
 
     /**
-     * Kill {@link Individual}s to match {@link #maxPopulationSize}
+     * Deducts the energy costs of all given {@link Individual}s.
+     * While the population is at its lower bound, each dead individual is replaced by a random one.
+     *
+     * @param population the individuals to update, in population order
+     */
+    private void metabolize(List<Individual> population) {
+        int alive = population.size();
+        for (Individual ind : population) {
+            if (ind.metabolize() && --alive < minPopulationSize) {
+                addRandomIndividual();
+                alive++;
+            }
+        }
+    }
+
+    /**
+     * Applies all buffered additions and removals of {@link Individual}s and {@link Food} objects.
+     * Removed individuals release their slots in the {@link BodyStore}.
+     */
+    private void commit() {
+        individuals.commit(Individual::release);
+        foodObjects.commit();
+        statsVersion++; // Invalidate the cached stats at every commit
+    }
+
+    /**
+     * Evaluates the brains of all given {@link Individual}s in one batch.
+     *
+     * @param population the individuals to evaluate, all having brains of the same topology
+     */
+    private void think(List<Individual> population) {
+        if (population.isEmpty())
+            return;
+
+        if (brainBatch == null)
+            brainBatch = new BatchedInference(population.get(0).getBrain());
+
+        int inputSize = brainBatch.getInputSize(), outputSize = brainBatch.getOutputSize();
+        brainBatch.setBatchSize(population.size());
+
+        IntStream.range(0, population.size()).parallel().forEach(i -> {
+            Individual ind = population.get(i);
+            brainBatch.setNetwork(i, ind.getBrain());
+            ind.writeBrainInput(brainBatch.getInputs(), i * inputSize);
+        });
+
+        brainBatch.evaluate();
+
+        IntStream.range(0, population.size()).parallel().forEach(i ->
+                population.get(i).readBrainOutput(brainBatch.getOutputs(), i * outputSize));
+    }
+
+    /**
+     * Kill {@link Individual}s to match {@link #maxPopulationSize}.
+     * Only the weakest individuals are selected, without sorting the population.
      */
     private void purge() {
-        individuals.stream(true)
-                .sorted(Individual::compareTo)
-                .limit(individuals.size() - maxPopulationSize)
-                .forEach(individuals::remove);
+        Individual[] population = individuals.snapshot().toArray(new Individual[0]);
+        int excess = population.length - maxPopulationSize;
+        Selection.selectSmallest(population, excess, Individual::compareTo);
+        for (int i = 0; i < excess; i++)
+            individuals.remove(population[i]);
     }
 
     /**
      * Force fit {@link Individual}s to reproduce in order to match {@link #minPopulationSize}
      */
     private void forceReproduction() {
-        individuals.stream(true)
-                .max(Individual::compareTo)
-                .ifPresent(ind -> ind.reproduce(minPopulationSize - individuals.size(), true));
+        Individual fittest = getStats().fittest();
+        if (fittest != null)
+            births.request(fittest, minPopulationSize - individuals.size(), true);
+        births.commit();
     }
 
-    @Override
-    public void render(Graphics2D g) {
-        foodObjects.forEach(food -> food.render(g));
-        individuals.forEach(individual -> individual.render(g), false);
+    /**
+     * Captures the current state of this world into a new frame and publishes it to the renderer.
+     * Must be called between two ticks, by the thread that ticks this world.
+     */
+    public void publishFrame() {
+        long start = System.nanoTime();
+        frames.getBack().capture(this);
+        frames.publish();
+        profiler.lap(Phase.PUBLISH, start);
     }
 
+    /**
+     * Returns the latest published frame of this world. Must only be called by the rendering thread.
+     * The frame is not modified until this method is called again.
+     *
+     * @return the latest published frame, which is empty if no frame has been published yet
+     */
+    public FrameSnapshot getFrame() {
+        return frames.getFront();
+    }
+
+    /**
+     * Attaches a {@link Simulation} that displays this world.
+     *
+     * @param simulation the simulation to attach
+     */
+    public void setSimulation(Simulation simulation) {
+        this.simulation = simulation;
+    }
+
+    /**
+     * Sets the file this world is saved to, e.g. to save the islands of an {@link Archipelago} separately.
+     *
+     * @param savePath the file to save to
+     */
+    public void setSavePath(Path savePath) {
+        this.savePath = savePath;
+    }
+
+    public Path getSavePath() {
+        return savePath;
+    }
+
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
 
-    public Random getRandom() {
-        return random;
+    public long getTotalTicks() {
+        return totalTicks;
     }
 
-    public ThreadSafeContainer<Individual> getIndividuals() {
+    /**
+     * Derives a new independent stream of pseudorandom numbers from the root stream of this world, e.g. for a new individual.
+     * Must only be called by the thread that ticks this world.
+     *
+     * @return a new stream instance
+     */
+    public SplittableRandom splitRandom() {
+        return random.split();
+    }
+
+    /**
+     * Draws the seed of a checkpoint, which the root stream of the restored world is seeded with.
+     * The seed is drawn from a stream of its own, so the simulation does not depend on when (or whether) checkpoints are captured.
+     * Must only be called by the thread that ticks this world, or while it is not ticking.
+     *
+     * @return a new seed
+     */
+    public long nextCheckpointSeed() {
+        return checkpointRandom.nextLong();
+    }
+
+    public SnapshotContainer<Individual> getIndividuals() {
         return individuals;
     }
 
-    public ThreadSafeContainer<Food> getFoodObjects() {
+    public SnapshotContainer<Food> getFoodObjects() {
         return foodObjects;
     }
 
+    public CheckpointWriter getCheckpointWriter() {
+        return checkpointWriter;
+    }
+
+    public BodyStore getBodies() {
+        return bodies;
+    }
+
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    public SpatialGrid<Individual> getIndividualGrid() {
+        return individualGrid;
+    }
+
+    public SpatialGrid<Food> getFoodGrid() {
+        return foodGrid;
+    }
+
     public int getMinPopulationSize() {
         return minPopulationSize;
     }
+
+    public int getMaxPopulationSize() {
+        return maxPopulationSize;
+    }
 }
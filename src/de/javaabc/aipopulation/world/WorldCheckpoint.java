@@ -0,0 +1,427 @@
+package de.javaabc.aipopulation.world;
+
+import de.javaabc.aipopulation.dnn.Layer;
+import de.javaabc.aipopulation.dnn.NeuralNetwork;
+import de.javaabc.aipopulation.geom.Rot;
+import de.javaabc.aipopulation.geom.Vec;
+import de.javaabc.aipopulation.objects.Food;
+import de.javaabc.aipopulation.objects.Individual;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The compact binary checkpoint format of a {@link World}.
+ * <p>
+ * All values are stored in little-endian byte order:
+ * <ol>
+ *     <li>the header: magic number, format version, world properties, counts and the brain topology
+ *     that is shared by all {@link Individual}s</li>
+ *     <li>the entity table: one fixed-size record per individual, followed by one per {@link Food} object</li>
+ *     <li>the weight blocks: the flat, row-major weights of all layers of each individual's brain, in entity order</li>
+ *     <li>the CRC32 checksum of everything before it</li>
+ * </ol>
+ * Transient state that is recomputed in the next tick (e.g. what the individuals see or want) is not stored.
+ * The root stream of pseudorandom numbers of the world is reseeded from a value that is drawn when saving,
+ * and restored individuals split their own streams off it.
+ * <p>
+ * An instance of this class is an immutable capture of a world at a tick boundary,
+ * which can be encoded and written by another thread while the world keeps ticking.
+ *
+ * @author Timo Friedl
+ */
+public final class WorldCheckpoint {
+    /**
+     * the magic number at the start of each checkpoint ("AIPW")
+     */
+    private static final int MAGIC = 0x41495057;
+
+    /**
+     * the current version of the checkpoint format
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * the number of doubles, longs and ints in each individual record, excluding memory
+     */
+    private static final int INDIVIDUAL_DOUBLES = 10, INDIVIDUAL_LONGS = 2, INDIVIDUAL_INTS = 1;
+
+    /**
+     * the number of doubles in each food record
+     */
+    private static final int FOOD_DOUBLES = 2;
+
+    /**
+     * the properties of the captured world
+     */
+    private final int width, height, minPopulationSize, maxPopulationSize;
+
+    /**
+     * the number of ticks of the captured world
+     */
+    private final long totalTicks;
+
+    /**
+     * the seed to restore the root stream of pseudorandom numbers of the world with
+     */
+    private final long seed;
+
+    /**
+     * the number of memory values of each individual
+     */
+    private final int memorySize;
+
+    /**
+     * the {@link #INDIVIDUAL_DOUBLES} double values and the memory of each individual, in entity order
+     */
+    private final double[] individualDoubles;
+
+    /**
+     * the age and generation of each individual, in entity order
+     */
+    private final long[] individualLongs;
+
+    /**
+     * the ARGB color of each individual, in entity order
+     */
+    private final int[] colors;
+
+    /**
+     * the position of each food object, in entity order
+     */
+    private final double[] foodPositions;
+
+    /**
+     * The brain of each individual, in entity order.
+     * Neural networks are never changed after creation, so they can be shared instead of copied.
+     */
+    private final NeuralNetwork[] brains;
+
+    /**
+     * the time it took to capture this checkpoint, measured in ns
+     */
+    private final long captureNanos;
+
+    /**
+     * Captures the current state of a world.
+     * Must be called at a tick boundary, i.e. not while the world is ticking.
+     * Only primitive values are copied, so capturing is fast and the result can be written by another thread.
+     *
+     * @param world the world to capture
+     */
+    private WorldCheckpoint(World world) {
+        long start = System.nanoTime();
+        List<Individual> individuals = world.getIndividuals().snapshot();
+        List<Food> foodObjects = world.getFoodObjects().snapshot();
+
+        width = world.getWidth();
+        height = world.getHeight();
+        minPopulationSize = world.getMinPopulationSize();
+        maxPopulationSize = world.getMaxPopulationSize();
+        totalTicks = world.getTotalTicks();
+        seed = world.nextCheckpointSeed();
+        memorySize = individuals.isEmpty() ? 0 : individuals.get(0).getMemory().length;
+
+        int recordLength = INDIVIDUAL_DOUBLES + memorySize;
+        individualDoubles = new double[individuals.size() * recordLength];
+        individualLongs = new long[individuals.size() * INDIVIDUAL_LONGS];
+        colors = new int[individuals.size()];
+        brains = new NeuralNetwork[individuals.size()];
+        for (int i = 0; i < individuals.size(); i++) {
+            Individual ind = individuals.get(i);
+            double[] memory = ind.getMemory();
+            if (memory.length != memorySize)
+                throw new IllegalArgumentException("All individuals must have the same memory size");
+            if (!sameTopology(ind.getBrain(), individuals.get(0).getBrain()))
+                throw new IllegalArgumentException("All individuals must have brains of the same topology");
+
+            int d = i * recordLength;
+            Vec pos = ind.getPos(), speed = ind.getSpeed();
+            individualDoubles[d++] = pos.x();
+            individualDoubles[d++] = pos.y();
+            individualDoubles[d++] = speed.x();
+            individualDoubles[d++] = speed.y();
+            individualDoubles[d++] = ind.getRot().radians();
+            individualDoubles[d++] = ind.getRotSpeed().radians();
+            individualDoubles[d++] = ind.getEnergy();
+            individualDoubles[d++] = ind.getRadius();
+            individualDoubles[d++] = ind.getHalfTorsoLength();
+            individualDoubles[d++] = ind.getMutationFactor();
+            System.arraycopy(memory, 0, individualDoubles, d, memorySize);
+
+            individualLongs[INDIVIDUAL_LONGS * i] = ind.getAge();
+            individualLongs[INDIVIDUAL_LONGS * i + 1] = ind.getGeneration();
+            colors[i] = ind.getColor().getRGB();
+            brains[i] = ind.getBrain();
+        }
+
+        foodPositions = new double[foodObjects.size() * FOOD_DOUBLES];
+        for (int i = 0; i < foodObjects.size(); i++) {
+            foodPositions[FOOD_DOUBLES * i] = foodObjects.get(i).getX();
+            foodPositions[FOOD_DOUBLES * i + 1] = foodObjects.get(i).getY();
+        }
+
+        captureNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Captures the current state of a world.
+     * Must be called at a tick boundary, i.e. not while the world is ticking.
+     * Only primitive values are copied, so capturing is fast and the result can be written by another thread.
+     *
+     * @param world the world to capture
+     * @return a new immutable checkpoint
+     */
+    public static WorldCheckpoint capture(World world) {
+        return new WorldCheckpoint(world);
+    }
+
+    /**
+     * Writes a checkpoint of a world to a file.
+     * Must not be called while the world is ticking.
+     *
+     * @param world the world to save
+     * @param path  the file to write to
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(World world, Path path) throws IOException {
+        capture(world).write(path);
+    }
+
+    /**
+     * Writes this checkpoint to a temporary file next to a given path and atomically renames it afterwards,
+     * so the file at the given path is always a complete checkpoint.
+     * May be called by any thread.
+     *
+     * @param path the file to write to
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = encode();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        }
+
+        try {
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Encodes this checkpoint in the binary format.
+     *
+     * @return a new buffer, ready to be read
+     */
+    private ByteBuffer encode() {
+        int numberOfIndividuals = brains.length, numberOfFood = foodPositions.length / FOOD_DOUBLES;
+        NeuralNetwork prototype = numberOfIndividuals == 0 ? null : brains[0];
+        int numberOfLayers = prototype == null ? 0 : prototype.getNumberOfLayers();
+        int weightsPerBrain = 0;
+        for (int l = 0; l < numberOfLayers; l++)
+            weightsPerBrain += weightCount(prototype.getLayer(l));
+
+        int size = headerSize(numberOfLayers)
+                + numberOfIndividuals * individualRecordSize(memorySize)
+                + numberOfFood * FOOD_DOUBLES * Double.BYTES
+                + numberOfIndividuals * weightsPerBrain * Double.BYTES
+                + Integer.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Header
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putInt(width).putInt(height);
+        buffer.putInt(minPopulationSize).putInt(maxPopulationSize);
+        buffer.putLong(totalTicks).putLong(seed);
+        buffer.putInt(numberOfIndividuals).putInt(numberOfFood).putInt(memorySize);
+        buffer.putInt(numberOfLayers);
+        for (int l = 0; l < numberOfLayers; l++) {
+            Layer layer = prototype.getLayer(l);
+            buffer.putInt(layer.getInputSize()).putInt(layer.getOutputSize());
+            buffer.put((byte) (layer.usesTanH() ? 1 : 0)).putDouble(layer.getMaxWeight());
+        }
+
+        // Entity table
+        int recordLength = INDIVIDUAL_DOUBLES + memorySize;
+        for (int i = 0; i < numberOfIndividuals; i++) {
+            for (int d = i * recordLength; d < (i + 1) * recordLength; d++)
+                buffer.putDouble(individualDoubles[d]);
+            buffer.putLong(individualLongs[INDIVIDUAL_LONGS * i]).putLong(individualLongs[INDIVIDUAL_LONGS * i + 1]);
+            buffer.putInt(colors[i]);
+        }
+
+        for (double value : foodPositions)
+            buffer.putDouble(value);
+
+        // Weight blocks
+        double[] weights = new double[weightsPerBrain];
+        for (NeuralNetwork brain : brains) {
+            int offset = 0;
+            for (int l = 0; l < numberOfLayers; l++) {
+                brain.getLayer(l).copyWeights(weights, offset);
+                offset += weightCount(brain.getLayer(l));
+            }
+            buffer.asDoubleBuffer().put(weights);
+            buffer.position(buffer.position() + weights.length * Double.BYTES);
+        }
+
+        // Checksum
+        var crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+
+        return buffer.flip();
+    }
+
+    /**
+     * Reads a world from a checkpoint file.
+     *
+     * @param path the file to read from
+     * @return the restored world
+     * @throws IOException if the file cannot be read or is not a valid checkpoint
+     */
+    public static World read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Checkpoint is too large: " + channel.size() + " bytes");
+
+            buffer = ByteBuffer.allocate((int) channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining())
+                if (channel.read(buffer) < 0)
+                    throw new IOException("Unexpected end of checkpoint");
+            buffer.flip();
+        }
+
+        // Header
+        if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGIC)
+            throw new IOException("Not a world checkpoint: " + path);
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported checkpoint version " + version);
+
+        var crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - Integer.BYTES);
+        if (buffer.getInt(buffer.limit() - Integer.BYTES) != (int) crc.getValue())
+            throw new IOException("Checkpoint is corrupted: " + path);
+
+        try {
+            int width = buffer.getInt(), height = buffer.getInt();
+            int minPopulationSize = buffer.getInt(), maxPopulationSize = buffer.getInt();
+            long totalTicks = buffer.getLong(), seed = buffer.getLong();
+            int numberOfIndividuals = buffer.getInt(), numberOfFood = buffer.getInt(), memorySize = buffer.getInt();
+            int numberOfLayers = buffer.getInt();
+            int[] inputSizes = new int[numberOfLayers], outputSizes = new int[numberOfLayers];
+            boolean[] useTanH = new boolean[numberOfLayers];
+            double[] maxWeights = new double[numberOfLayers];
+            for (int l = 0; l < numberOfLayers; l++) {
+                inputSizes[l] = buffer.getInt();
+                outputSizes[l] = buffer.getInt();
+                useTanH[l] = buffer.get() != 0;
+                maxWeights[l] = buffer.getDouble();
+            }
+
+            var world = new World(width, height, minPopulationSize, maxPopulationSize, totalTicks, seed);
+
+            // The weight blocks start after the entity table
+            int weightPosition = buffer.position()
+                    + numberOfIndividuals * individualRecordSize(memorySize)
+                    + numberOfFood * FOOD_DOUBLES * Double.BYTES;
+            var weightBuffer = buffer.slice(weightPosition, buffer.limit() - Integer.BYTES - weightPosition)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+
+            // Entity table
+            for (int i = 0; i < numberOfIndividuals; i++) {
+                var pos = new Vec(buffer.getDouble(), buffer.getDouble());
+                var speed = new Vec(buffer.getDouble(), buffer.getDouble());
+                var rot = new Rot(buffer.getDouble());
+                var rotSpeed = new Rot(buffer.getDouble());
+                double energy = buffer.getDouble(), radius = buffer.getDouble();
+                double halfTorsoLength = buffer.getDouble(), mutationFactor = buffer.getDouble();
+                double[] memory = new double[memorySize];
+                for (int m = 0; m < memorySize; m++)
+                    memory[m] = buffer.getDouble();
+                long age = buffer.getLong(), generation = buffer.getLong();
+                var color = new Color(buffer.getInt(), true);
+
+                Layer[] layers = new Layer[numberOfLayers];
+                for (int l = 0; l < numberOfLayers; l++) {
+                    double[] weights = new double[outputSizes[l] * (inputSizes[l] + 1)];
+                    weightBuffer.get(weights);
+                    layers[l] = new Layer(weights, inputSizes[l], outputSizes[l], useTanH[l], maxWeights[l]);
+                }
+
+                world.getIndividuals().add(new Individual(world, pos, speed, rot, rotSpeed, color, halfTorsoLength, energy,
+                        radius, new NeuralNetwork(layers), mutationFactor, memory, generation, age));
+            }
+
+            for (int i = 0; i < numberOfFood; i++)
+                world.getFoodObjects().add(new Food(new Vec(buffer.getDouble(), buffer.getDouble())));
+
+            world.getIndividuals().commit();
+            world.getFoodObjects().commit();
+            return world;
+        } catch (RuntimeException e) { // BufferUnderflowException, IndexOutOfBoundsException, IllegalArgumentException
+            throw new IOException("Invalid checkpoint: " + path, e);
+        }
+    }
+
+    /**
+     * @return the size of the header in bytes, given the number of brain layers
+     */
+    private static int headerSize(int numberOfLayers) {
+        return 10 * Integer.BYTES + 2 * Long.BYTES
+                + numberOfLayers * (2 * Integer.BYTES + 1 + Double.BYTES);
+    }
+
+    /**
+     * @return the size of an individual record in bytes, given the number of memory values
+     */
+    private static int individualRecordSize(int memorySize) {
+        return (INDIVIDUAL_DOUBLES + memorySize) * Double.BYTES + INDIVIDUAL_LONGS * Long.BYTES + INDIVIDUAL_INTS * Integer.BYTES;
+    }
+
+    /**
+     * @return the number of weights of a layer, including bias
+     */
+    private static int weightCount(Layer layer) {
+        return layer.getOutputSize() * (layer.getInputSize() + 1);
+    }
+
+    /**
+     * @return the time it took to capture this checkpoint, measured in ns
+     */
+    public long getCaptureNanos() {
+        return captureNanos;
+    }
+
+    /**
+     * @return true iff both networks have layers of the same sizes and activations
+     */
+    private static boolean sameTopology(NeuralNetwork a, NeuralNetwork b) {
+        if (a.getNumberOfLayers() != b.getNumberOfLayers())
+            return false;
+
+        for (int l = 0; l < a.getNumberOfLayers(); l++) {
+            Layer la = a.getLayer(l), lb = b.getLayer(l);
+            if (la.getInputSize() != lb.getInputSize() || la.getOutputSize() != lb.getOutputSize() || la.usesTanH() != lb.usesTanH())
+                return false;
+        }
+        return true;
+    }
+}
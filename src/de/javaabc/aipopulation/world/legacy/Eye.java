@@ -0,0 +1,22 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import de.javaabc.aipopulation.geom.Rot;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.objects.Eye} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+class Eye implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 7768220570030335671L;
+
+    MovableObject owner;
+    Rot detectedFoodRotation, detectedEnemyRotation;
+    double detectedFoodSqDistance, detectedEnemySqDistance, detectedEnemyHue, detectedEnemySaturation;
+}
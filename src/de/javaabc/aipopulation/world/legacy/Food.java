@@ -0,0 +1,17 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import java.io.Serial;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.objects.Food} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+class Food extends SimulationObject {
+    @Serial
+    private static final long serialVersionUID = -5290454059759107865L;
+
+    double radius;
+}
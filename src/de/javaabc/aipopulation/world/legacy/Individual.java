@@ -0,0 +1,25 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import java.io.Serial;
+import java.util.Random;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.objects.Individual} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+class Individual extends MovableObject {
+    @Serial
+    private static final long serialVersionUID = 7668459475993239180L;
+
+    double radius, halfTorsoLength, energy;
+    NeuralNetwork brain;
+    Eye eye;
+    Random random;
+    double mutationFactor;
+    long age, generation;
+    double[] memory;
+    boolean wantToEat, eating, beingEaten, wantToReproduce;
+}
@@ -0,0 +1,22 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.dnn.Layer} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+class Layer implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 372228145676519510L;
+
+    double[][] weights;
+    boolean useTanH;
+    Random random;
+    double maxWeight;
+}
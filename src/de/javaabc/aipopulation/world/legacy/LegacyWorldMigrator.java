@@ -0,0 +1,130 @@
+package de.javaabc.aipopulation.world.legacy;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Reads worlds that were saved with Java serialization by older versions and converts them to the current classes.
+ * <p>
+ * The classes of the old object graph are resolved to mirror classes in this package,
+ * which only consist of the serialized fields of the original classes.
+ * This works because serialization only compares the simple names of classes, not their packages.
+ *
+ * @author Timo Friedl
+ */
+public final class LegacyWorldMigrator {
+    /**
+     * the mirror classes, by the fully qualified names of the original classes
+     */
+    private static final Map<String, Class<?>> MIRRORS = Map.of(
+            "de.javaabc.aipopulation.world.World", World.class,
+            "de.javaabc.aipopulation.world.ThreadSafeContainer", ThreadSafeContainer.class,
+            "de.javaabc.aipopulation.objects.SimulationObject", SimulationObject.class,
+            "de.javaabc.aipopulation.objects.MovableObject", MovableObject.class,
+            "de.javaabc.aipopulation.objects.Individual", Individual.class,
+            "de.javaabc.aipopulation.objects.Eye", Eye.class,
+            "de.javaabc.aipopulation.objects.Food", Food.class,
+            "de.javaabc.aipopulation.dnn.NeuralNetwork", NeuralNetwork.class,
+            "de.javaabc.aipopulation.dnn.Layer", Layer.class
+    );
+
+    private LegacyWorldMigrator() {
+    }
+
+    /**
+     * Reads a serialized world of an older version and converts it to a current {@link de.javaabc.aipopulation.world.World}.
+     *
+     * @param path   the file to read from
+     * @param width  the width of the migrated world, measured in px
+     * @param height the height of the migrated world, measured in px
+     * @return the migrated world
+     * @throws IOException            if the file cannot be read
+     * @throws ClassNotFoundException if the file contains classes that are unknown to this migrator
+     */
+    public static de.javaabc.aipopulation.world.World migrate(Path path, int width, int height) throws IOException, ClassNotFoundException {
+        World legacy;
+        try (var in = new MirrorInputStream(Files.newInputStream(path))) {
+            legacy = (World) in.readObject();
+        }
+
+        var world = new de.javaabc.aipopulation.world.World(width, height,
+                legacy.minPopulationSize, legacy.maxPopulationSize, legacy.totalTicks, legacy.random.nextLong());
+
+        for (Object element : legacy.individuals.elements)
+            world.getIndividuals().add(convert((Individual) element, world));
+
+        for (Object element : legacy.foodObjects.elements)
+            world.getFoodObjects().add(new de.javaabc.aipopulation.objects.Food(((Food) element).pos));
+
+        world.getIndividuals().commit();
+        world.getFoodObjects().commit();
+        return world;
+    }
+
+    /**
+     * Converts a legacy individual to a current {@link de.javaabc.aipopulation.objects.Individual}.
+     *
+     * @param ind   the legacy individual
+     * @param world the world the converted individual lives in
+     * @return a new individual instance
+     */
+    private static de.javaabc.aipopulation.objects.Individual convert(Individual ind, de.javaabc.aipopulation.world.World world) {
+        return new de.javaabc.aipopulation.objects.Individual(world, ind.pos, ind.speed, ind.rot, ind.rotSpeed, ind.color,
+                ind.halfTorsoLength, ind.energy, ind.radius, convert(ind.brain), ind.mutationFactor, ind.memory,
+                ind.generation, ind.age);
+    }
+
+    /**
+     * Converts a legacy neural network to a current {@link de.javaabc.aipopulation.dnn.NeuralNetwork}.
+     * The nested weight matrices are flattened row by row, which keeps the weights of each neuron followed by its bias.
+     *
+     * @param network the legacy neural network
+     * @return a new neural network instance
+     */
+    private static de.javaabc.aipopulation.dnn.NeuralNetwork convert(NeuralNetwork network) {
+        var layers = new de.javaabc.aipopulation.dnn.Layer[network.layers.length];
+        for (int l = 0; l < layers.length; l++) {
+            Layer layer = network.layers[l];
+            int outputSize = layer.weights.length;
+            int inputSize = layer.weights[0].length - 1;
+            double[] weights = Arrays.stream(layer.weights).flatMapToDouble(Arrays::stream).toArray();
+            layers[l] = new de.javaabc.aipopulation.dnn.Layer(weights, inputSize, outputSize, layer.useTanH, layer.maxWeight);
+        }
+        return new de.javaabc.aipopulation.dnn.NeuralNetwork(layers);
+    }
+
+    /**
+     * An {@link ObjectInputStream} that resolves the classes of legacy saves to their mirror classes.
+     */
+    private static class MirrorInputStream extends ObjectInputStream {
+        private MirrorInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            // Array class names look like "[[Lname;"
+            String name = desc.getName();
+            int dimensions = 0;
+            while (name.charAt(dimensions) == '[')
+                dimensions++;
+            if (dimensions > 0 && name.startsWith("L", dimensions))
+                name = name.substring(dimensions + 1, name.length() - 1);
+
+            Class<?> mirror = MIRRORS.get(name);
+            if (mirror == null)
+                return super.resolveClass(desc);
+
+            for (int i = 0; i < dimensions; i++)
+                mirror = mirror.arrayType();
+            return mirror;
+        }
+    }
+}
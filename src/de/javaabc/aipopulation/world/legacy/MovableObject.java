@@ -0,0 +1,21 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import de.javaabc.aipopulation.geom.Rot;
+import de.javaabc.aipopulation.geom.Vec;
+
+import java.io.Serial;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.objects.MovableObject} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+abstract class MovableObject extends SimulationObject {
+    @Serial
+    private static final long serialVersionUID = 8498765457558900849L;
+
+    Vec speed, acc;
+    Rot rot, rotSpeed, rotAcc;
+}
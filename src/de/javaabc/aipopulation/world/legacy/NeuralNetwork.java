@@ -0,0 +1,20 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.dnn.NeuralNetwork} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+class NeuralNetwork implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1421031738325081767L;
+
+    Layer[] layers;
+    Random random;
+}
@@ -0,0 +1,22 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import de.javaabc.aipopulation.geom.Vec;
+
+import java.awt.*;
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.objects.SimulationObject} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+abstract class SimulationObject implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 4200667382651671234L;
+
+    Vec pos;
+    Color color;
+}
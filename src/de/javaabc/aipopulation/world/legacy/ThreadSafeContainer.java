@@ -0,0 +1,19 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.world.ThreadSafeContainer} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+class ThreadSafeContainer implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 8692408600164322273L;
+
+    List<?> elements;
+}
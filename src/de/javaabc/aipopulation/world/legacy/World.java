@@ -0,0 +1,23 @@
+package de.javaabc.aipopulation.world.legacy;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * The serialized form of {@code de.javaabc.aipopulation.world.World} in saves of older versions,
+ * only used to read these saves in {@link LegacyWorldMigrator}.
+ * The names and types of the fields must match the original class exactly.
+ *
+ * @author Timo Friedl
+ */
+class World implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 616482292433487059L;
+
+    int minPopulationSize, maxPopulationSize;
+    ThreadSafeContainer individuals;
+    ThreadSafeContainer foodObjects;
+    Random random;
+    long totalTicks;
+}
@@ -0,0 +1,36 @@
+package de.javaabc.aipopulation.world.migration;
+
+import de.javaabc.aipopulation.objects.Genome;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * Exchanges migrating {@link Genome}s with other simulation processes.
+ * <p>
+ * Neither sending nor receiving may block the caller, since both are called from the tick loop.
+ *
+ * @author Timo Friedl
+ */
+public interface MigrationTransport extends Closeable {
+    /**
+     * Queues genomes to be sent to other processes.
+     * If the transport cannot keep up, the genomes are dropped instead of blocking.
+     *
+     * @param genomes the genomes of the emigrants
+     */
+    void send(List<Genome> genomes);
+
+    /**
+     * Removes all genomes that have been received since the last call.
+     *
+     * @return the genomes of the immigrants, possibly empty
+     */
+    List<Genome> poll();
+
+    /**
+     * Stops sending and receiving and releases all resources.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,386 @@
+package de.javaabc.aipopulation.world.migration;
+
+import de.javaabc.aipopulation.objects.Genome;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link MigrationTransport} that exchanges genomes with other processes over loopback TCP or Unix domain sockets.
+ * <p>
+ * Each process listens on its own address and sends to the address of one peer, so multiple processes form a ring.
+ * All socket I/O happens on background threads:
+ * <ul>
+ *     <li>Sending only offers a batch to a bounded queue. If the queue is full, the batch is dropped.</li>
+ *     <li>The sender thread merges all queued batches into one message and (re-)connects to the peer if necessary.</li>
+ *     <li>The receiver threads block if too many received genomes have not been polled yet,
+ *     which in turn slows down the sender of the other process (back-pressure via TCP flow control).</li>
+ * </ul>
+ * Each message consists of its length, a magic number, the format version, the number of genomes and the encoded genomes,
+ * all in little-endian byte order.
+ *
+ * @author Timo Friedl
+ */
+public class SocketMigrationTransport implements MigrationTransport {
+    /**
+     * the magic number at the beginning of each message ("AIPM")
+     */
+    private static final int MAGIC = 0x4149504D;
+
+    /**
+     * the version of the message format
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * the size of the message header after the length, measured in bytes
+     */
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    /**
+     * the maximum size of a message, to reject corrupted messages early, measured in bytes
+     */
+    private static final int MAX_MESSAGE_SIZE = 16 << 20;
+
+    /**
+     * the maximum number of batches waiting to be sent
+     */
+    private static final int OUTBOX_CAPACITY = 16;
+
+    /**
+     * the maximum number of received genomes waiting to be polled
+     */
+    private static final int INBOX_CAPACITY = 256;
+
+    /**
+     * the time to wait before reconnecting to the peer after a failure, measured in ms
+     */
+    private static final long RECONNECT_DELAY = 1000L;
+
+    /**
+     * the address this process listens on, or null if only sending
+     */
+    private final SocketAddress listenAddress;
+
+    /**
+     * the address of the process to send to, or null if only receiving
+     */
+    private final SocketAddress peerAddress;
+
+    /**
+     * the batches waiting to be sent
+     */
+    private final BlockingQueue<List<Genome>> outbox = new ArrayBlockingQueue<>(OUTBOX_CAPACITY);
+
+    /**
+     * the received genomes waiting to be polled
+     */
+    private final BlockingQueue<Genome> inbox = new ArrayBlockingQueue<>(INBOX_CAPACITY);
+
+    /**
+     * the number of genomes that have been sent
+     */
+    private final AtomicLong sent = new AtomicLong();
+
+    /**
+     * the number of genomes that have been received
+     */
+    private final AtomicLong received = new AtomicLong();
+
+    /**
+     * the number of genomes that have been dropped, either because the outbox was full or the peer was unreachable
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * the socket accepting connections of other processes, or null if only sending
+     */
+    private final ServerSocketChannel server;
+
+    /**
+     * the thread sending batches to the peer, or null if only receiving
+     */
+    private final Thread sender;
+
+    /**
+     * a flag indicating that this transport has been closed
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new transport and starts its background threads.
+     *
+     * @param listenAddress the address this process listens on, or null if only sending
+     * @param peerAddress   the address of the process to send to, or null if only receiving
+     * @throws IOException if the listen address cannot be bound
+     */
+    public SocketMigrationTransport(SocketAddress listenAddress, SocketAddress peerAddress) throws IOException {
+        this.listenAddress = listenAddress;
+        this.peerAddress = peerAddress;
+
+        if (listenAddress != null) {
+            if (listenAddress instanceof UnixDomainSocketAddress unix) {
+                Files.deleteIfExists(unix.getPath()); // Left over from a previous run
+                server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            } else {
+                server = ServerSocketChannel.open();
+            }
+            server.bind(listenAddress);
+            startDaemon(this::acceptLoop, "migration-accept");
+        } else {
+            server = null;
+        }
+
+        sender = peerAddress == null ? null : startDaemon(this::sendLoop, "migration-send");
+    }
+
+    /**
+     * Parses a socket address of the form {@code unix:<path>} or {@code [tcp:]<host>:<port>}.
+     *
+     * @param address the address to parse
+     * @return a new socket address instance
+     */
+    public static SocketAddress parseAddress(String address) {
+        if (address.startsWith("unix:"))
+            return UnixDomainSocketAddress.of(address.substring("unix:".length()));
+
+        String hostPort = address.replaceFirst("^tcp:", "");
+        int colon = hostPort.lastIndexOf(':');
+        if (colon < 0)
+            throw new IllegalArgumentException("Expected unix:<path> or tcp:<host>:<port>, but got \"" + address + "\"");
+        return new InetSocketAddress(hostPort.substring(0, colon), Integer.parseInt(hostPort.substring(colon + 1)));
+    }
+
+    /**
+     * Starts a daemon thread.
+     *
+     * @param task the task of the thread
+     * @param name the name of the thread
+     * @return the started thread
+     */
+    private static Thread startDaemon(Runnable task, String name) {
+        var thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @Override
+    public void send(List<Genome> genomes) {
+        if (closed || sender == null || genomes.isEmpty())
+            return;
+
+        if (!outbox.offer(List.copyOf(genomes)))
+            dropped.addAndGet(genomes.size()); // Never block the tick loop
+    }
+
+    @Override
+    public List<Genome> poll() {
+        if (inbox.isEmpty())
+            return List.of();
+
+        List<Genome> genomes = new ArrayList<>(inbox.size());
+        inbox.drainTo(genomes);
+        return genomes;
+    }
+
+    /**
+     * Sends all queued batches to the peer until this transport is closed.
+     */
+    private void sendLoop() {
+        SocketChannel channel = null;
+        while (!closed) {
+            // Wait for a batch, then merge all batches that are queued by now into one message
+            List<Genome> genomes = new ArrayList<>();
+            try {
+                genomes.addAll(outbox.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            List<List<Genome>> batches = new ArrayList<>();
+            outbox.drainTo(batches);
+            batches.forEach(genomes::addAll);
+
+            try {
+                if (channel == null)
+                    channel = SocketChannel.open(peerAddress);
+
+                ByteBuffer message = encode(genomes);
+                while (message.hasRemaining())
+                    channel.write(message);
+                sent.addAndGet(genomes.size());
+            } catch (IOException e) {
+                dropped.addAndGet(genomes.size());
+                closeQuietly(channel);
+                channel = null;
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException ex) {
+                    break;
+                }
+            }
+        }
+        closeQuietly(channel);
+    }
+
+    /**
+     * Accepts connections of other processes until this transport is closed.
+     */
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                SocketChannel channel = server.accept();
+                startDaemon(() -> receiveLoop(channel), "migration-receive");
+            } catch (IOException e) {
+                if (!closed)
+                    e.printStackTrace();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Receives messages from one connection until it is closed.
+     *
+     * @param channel the accepted connection
+     */
+    private void receiveLoop(SocketChannel channel) {
+        try (channel) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (!closed) {
+                length.clear();
+                readFully(channel, length);
+                int size = length.flip().getInt();
+                if (size < HEADER_SIZE || size > MAX_MESSAGE_SIZE)
+                    throw new IOException("Invalid message size " + size);
+
+                ByteBuffer message = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+                readFully(channel, message);
+                for (Genome genome : decode(message.flip())) {
+                    inbox.put(genome); // Blocks this connection only, until the tick loop has polled
+                    received.incrementAndGet();
+                }
+            }
+        } catch (EOFException e) {
+            // Peer has disconnected
+        } catch (IOException e) {
+            if (!closed)
+                e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads from a channel until a buffer is full.
+     *
+     * @param channel the channel to read from
+     * @param buffer  the buffer to fill
+     * @throws IOException if the channel is closed before the buffer is full
+     */
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0)
+                throw new EOFException();
+        }
+    }
+
+    /**
+     * Encodes genomes into one message, including its length.
+     *
+     * @param genomes the genomes to encode
+     * @return the encoded message, ready to be written
+     */
+    private static ByteBuffer encode(List<Genome> genomes) {
+        int size = HEADER_SIZE + genomes.stream().mapToInt(Genome::encodedSize).sum();
+        ByteBuffer message = ByteBuffer.allocate(Integer.BYTES + size).order(ByteOrder.LITTLE_ENDIAN);
+        message.putInt(size).putInt(MAGIC).putInt(VERSION).putInt(genomes.size());
+        for (Genome genome : genomes)
+            genome.encode(message);
+        return message.flip();
+    }
+
+    /**
+     * Decodes the genomes of a message, excluding its length.
+     *
+     * @param message the message to decode
+     * @return the decoded genomes
+     * @throws IOException if the message is invalid
+     */
+    private static List<Genome> decode(ByteBuffer message) throws IOException {
+        if (message.getInt() != MAGIC)
+            throw new IOException("Not a migration message");
+        int version = message.getInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported migration message version " + version);
+
+        int count = message.getInt();
+        List<Genome> genomes = new ArrayList<>(Math.max(0, Math.min(count, INBOX_CAPACITY)));
+        for (int i = 0; i < count; i++)
+            genomes.add(Genome.decode(message));
+        return genomes;
+    }
+
+    /**
+     * Closes a channel and ignores any failure.
+     *
+     * @param channel the channel to close, or null
+     */
+    private static void closeQuietly(SocketChannel channel) {
+        if (channel == null)
+            return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing left to do
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (sender != null)
+            sender.interrupt();
+
+        try {
+            if (server != null)
+                server.close();
+            if (listenAddress instanceof UnixDomainSocketAddress unix)
+                Files.deleteIfExists(unix.getPath());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("migration %s -> %s: %d sent, %d received, %d dropped",
+                listenAddress, peerAddress, getSent(), getReceived(), getDropped());
+    }
+}